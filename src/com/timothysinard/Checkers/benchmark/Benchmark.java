@@ -0,0 +1,40 @@
+package com.timothysinard.Checkers.benchmark;
+
+/**
+ * A single operation to be measured by the BenchmarkRunner. The state the
+ * operation works on is prepared once by setUp, before any run is timed.
+ */
+public abstract class Benchmark {
+
+	// Name the results are reported by
+	private final String name;
+
+	protected Benchmark(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Get name the results are reported by
+	 *
+	 * @return
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Prepares the state the operation works on. Called once, before the
+	 * warmup runs.
+	 */
+	public void setUp() {
+	}
+
+	/**
+	 * Runs the operation once, and returns any value of its result. The value
+	 * is kept by the runner, so the work of the operation is not removed by
+	 * the compiler.
+	 *
+	 * @return
+	 */
+	public abstract long run();
+}
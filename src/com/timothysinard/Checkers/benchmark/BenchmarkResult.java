@@ -0,0 +1,121 @@
+package com.timothysinard.Checkers.benchmark;
+
+/**
+ * Measured throughput and allocation of a benchmark, over the measurement
+ * iterations of a BenchmarkRunner.
+ */
+public class BenchmarkResult {
+
+	// Name of the benchmark
+	private final String name;
+	// Operations per second of each measurement iteration
+	private final double[] throughputs;
+	// Bytes allocated per operation, -1 if not supported by the JVM
+	private final double bytesPerOperation;
+	// Bytes allocated per second, -1 if not supported by the JVM
+	private final double allocationRate;
+	// Number of garbage collections during the measurement iterations
+	private final long collections;
+
+	public BenchmarkResult(String name, double[] throughputs,
+			double bytesPerOperation, double allocationRate, long collections) {
+		this.name = name;
+		this.throughputs = throughputs;
+		this.bytesPerOperation = bytesPerOperation;
+		this.allocationRate = allocationRate;
+		this.collections = collections;
+	}
+
+	/**
+	 * Get name of the benchmark
+	 *
+	 * @return
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get mean operations per second of the measurement iterations
+	 *
+	 * @return
+	 */
+	public double getThroughput() {
+		double sum = 0;
+		for (int i = 0; i < throughputs.length; i++) {
+			sum += throughputs[i];
+		}
+		return throughputs.length > 0 ? sum / throughputs.length : 0;
+	}
+
+	/**
+	 * Get standard deviation of the operations per second of the measurement
+	 * iterations
+	 *
+	 * @return
+	 */
+	public double getThroughputError() {
+		if (throughputs.length < 2) {
+			return 0;
+		}
+		double mean = getThroughput();
+		double sum = 0;
+		for (int i = 0; i < throughputs.length; i++) {
+			sum += (throughputs[i] - mean) * (throughputs[i] - mean);
+		}
+		return Math.sqrt(sum / (throughputs.length - 1));
+	}
+
+	/**
+	 * Get bytes allocated per operation, -1 if not supported by the JVM
+	 *
+	 * @return
+	 */
+	public double getBytesPerOperation() {
+		return bytesPerOperation;
+	}
+
+	/**
+	 * Get bytes allocated per second, -1 if not supported by the JVM
+	 *
+	 * @return
+	 */
+	public double getAllocationRate() {
+		return allocationRate;
+	}
+
+	/**
+	 * Get number of garbage collections during the measurement iterations
+	 *
+	 * @return
+	 */
+	public long getCollections() {
+		return collections;
+	}
+
+	/**
+	 * Get and return the header of the columns written by toString.
+	 *
+	 * @return
+	 */
+	public static String getHeader() {
+		return String.format("%-36s %14s %12s %12s %10s %5s", "Benchmark",
+				"ops/s", "error", "B/op", "MB/s", "gc");
+	}
+
+	/**
+	 * Returns the results as a row of the columns of getHeader.
+	 */
+	@Override
+	public String toString() {
+		String bytes = "n/a";
+		String rate = "n/a";
+		if (bytesPerOperation >= 0) {
+			bytes = String.format("%.1f", bytesPerOperation);
+			rate = String.format("%.1f", allocationRate / (1024 * 1024));
+		}
+		return String.format("%-36s %14.1f %12.1f %12s %10s %5d", name,
+				getThroughput(), getThroughputError(), bytes, rate,
+				collections);
+	}
+}
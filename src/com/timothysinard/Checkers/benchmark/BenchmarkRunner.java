@@ -0,0 +1,193 @@
+package com.timothysinard.Checkers.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import com.timothysinard.Checkers.utils.Timer;
+
+/**
+ * Measures benchmarks in timed iterations on the calling thread. Warmup
+ * iterations are run first, so the code is compiled before it is measured.
+ * Each measurement iteration runs the operation for the iteration time, and
+ * its throughput is recorded. Bytes allocated by the thread are read from the
+ * JVM's per-thread allocation counter where supported, as the gc profiler of
+ * JMH does, and garbage collections are counted from the collector beans.
+ */
+public class BenchmarkRunner {
+
+	// Number of operations run between checks of the iteration time
+	private static final int BATCH = 64;
+
+	// Number of iterations run before measuring
+	private int warmupIterations;
+	// Number of measured iterations
+	private int measurementIterations;
+	// Time of each iteration, in milliseconds
+	private long iterationTime;
+	// Values returned by the operations, kept so their work is not removed
+	private long sink;
+
+	public BenchmarkRunner() {
+		this.warmupIterations = 5;
+		this.measurementIterations = 5;
+		this.iterationTime = 1000;
+		this.sink = 0;
+	}
+
+	/**
+	 * Sets up and measures the given benchmark, and returns its results.
+	 *
+	 * @param benchmark
+	 * @return
+	 */
+	public BenchmarkResult run(Benchmark benchmark) {
+		benchmark.setUp();
+		for (int i = 0; i < warmupIterations; i++) {
+			iterate(benchmark);
+		}
+		double[] throughputs = new double[measurementIterations];
+		long operations = 0;
+		long elapsedTime = 0;
+		Timer timer = new Timer();
+		long allocated = getAllocatedBytes();
+		long collections = getCollections();
+		for (int i = 0; i < measurementIterations; i++) {
+			timer.startTimer();
+			long count = iterate(benchmark);
+			timer.stopTimer();
+			throughputs[i] = count * 1e9 / timer.getElapsedTime();
+			operations += count;
+			elapsedTime += timer.getElapsedTime();
+		}
+		collections = getCollections() - collections;
+		double bytesPerOperation = -1;
+		double allocationRate = -1;
+		if (allocated >= 0 && operations > 0) {
+			allocated = getAllocatedBytes() - allocated;
+			bytesPerOperation = allocated / (double) operations;
+			allocationRate = allocated * 1e9 / elapsedTime;
+		}
+		return new BenchmarkResult(benchmark.getName(), throughputs,
+				bytesPerOperation, allocationRate, collections);
+	}
+
+	/**
+	 * Runs the given benchmark for the iteration time, and returns the number
+	 * of operations run.
+	 *
+	 * @param benchmark
+	 * @return
+	 */
+	private long iterate(Benchmark benchmark) {
+		long end = System.nanoTime() + iterationTime * 1000000L;
+		long count = 0;
+		long value = 0;
+		do {
+			for (int i = 0; i < BATCH; i++) {
+				value += benchmark.run();
+			}
+			count += BATCH;
+		} while (System.nanoTime() < end);
+		sink += value;
+		return count;
+	}
+
+	/**
+	 * Get and return the bytes allocated so far by the calling thread, or -1
+	 * if the JVM does not count them.
+	 *
+	 * @return
+	 */
+	private static long getAllocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean) {
+			ThreadMXBean bean = (ThreadMXBean) ManagementFactory
+					.getThreadMXBean();
+			if (bean.isThreadAllocatedMemorySupported()
+					&& bean.isThreadAllocatedMemoryEnabled()) {
+				return bean.getThreadAllocatedBytes(Thread.currentThread()
+						.getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Get and return the number of garbage collections so far, by all
+	 * collectors.
+	 *
+	 * @return
+	 */
+	private static long getCollections() {
+		long collections = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			collections += Math.max(0, bean.getCollectionCount());
+		}
+		return collections;
+	}
+
+	/**
+	 * Get number of iterations run before measuring
+	 *
+	 * @return
+	 */
+	public int getWarmupIterations() {
+		return warmupIterations;
+	}
+
+	/**
+	 * Set number of iterations run before measuring
+	 *
+	 * @param warmupIterations
+	 */
+	public void setWarmupIterations(int warmupIterations) {
+		this.warmupIterations = warmupIterations;
+	}
+
+	/**
+	 * Get number of measured iterations
+	 *
+	 * @return
+	 */
+	public int getMeasurementIterations() {
+		return measurementIterations;
+	}
+
+	/**
+	 * Set number of measured iterations
+	 *
+	 * @param measurementIterations
+	 */
+	public void setMeasurementIterations(int measurementIterations) {
+		this.measurementIterations = measurementIterations;
+	}
+
+	/**
+	 * Get time of each iteration, in milliseconds
+	 *
+	 * @return
+	 */
+	public long getIterationTime() {
+		return iterationTime;
+	}
+
+	/**
+	 * Set time of each iteration, in milliseconds
+	 *
+	 * @param iterationTime
+	 */
+	public void setIterationTime(long iterationTime) {
+		this.iterationTime = iterationTime;
+	}
+
+	/**
+	 * Get sum of the values returned by the operations, so their work is not
+	 * removed
+	 *
+	 * @return
+	 */
+	public long getSink() {
+		return sink;
+	}
+}
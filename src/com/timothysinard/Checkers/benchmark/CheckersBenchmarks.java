@@ -0,0 +1,235 @@
+package com.timothysinard.Checkers.benchmark;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import com.timothysinard.Checkers.core.CheckersBoard;
+import com.timothysinard.Checkers.core.CheckersGame;
+import com.timothysinard.Checkers.core.CheckersSettingsManager;
+import com.timothysinard.Checkers.core.GameBlock;
+import com.timothysinard.Checkers.core.GameOpponent;
+import com.timothysinard.Checkers.core.GameType;
+import com.timothysinard.Checkers.core.MoveData;
+import com.timothysinard.Checkers.gui.BoardRenderer;
+import com.timothysinard.Checkers.gui.Graphic;
+import com.timothysinard.Checkers.gui.GraphicCanvas;
+import com.timothysinard.Checkers.gui.ScreenData;
+import com.timothysinard.Checkers.utils.ThemeManager;
+
+/**
+ * Benchmarks of the rules, history and rendering hot paths of the game. Each
+ * benchmark works on a two-player Regular game a few moves in, with Force
+ * Jumps and move guides on. The canvas is drawn into an offscreen image at
+ * several scale ratios, so the benchmarks run without a display.
+ *
+ * Run from the project directory, so the themes can be loaded, with the
+ * arguments "[-wi warmupIterations] [-i iterations] [-t iterationTime]
+ * [names...]". Only benchmarks whose name contains one of the given names are
+ * run, or all if none are given.
+ */
+public class CheckersBenchmarks {
+
+	// Number of moves made before measuring
+	private static final int OPENING_MOVES = 10;
+	// Scale ratios the canvas is drawn at
+	private static final double[] SCALE_RATIOS = { 0.25, 0.5, 1.0 };
+
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		BenchmarkRunner runner = new BenchmarkRunner();
+		ArrayList<String> names = new ArrayList<String>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-wi") && i + 1 < args.length) {
+				runner.setWarmupIterations(Integer.parseInt(args[++i]));
+			} else if (args[i].equals("-i") && i + 1 < args.length) {
+				runner.setMeasurementIterations(Integer.parseInt(args[++i]));
+			} else if (args[i].equals("-t") && i + 1 < args.length) {
+				runner.setIterationTime(Long.parseLong(args[++i]));
+			} else {
+				names.add(args[i]);
+			}
+		}
+
+		System.out.println(BenchmarkResult.getHeader());
+		for (Benchmark benchmark : createBenchmarks()) {
+			boolean selected = names.isEmpty();
+			for (String name : names) {
+				if (benchmark.getName().contains(name)) {
+					selected = true;
+				}
+			}
+			if (selected) {
+				System.out.println(runner.run(benchmark));
+			}
+		}
+	}
+
+	/**
+	 * Creates and returns every benchmark.
+	 *
+	 * @return
+	 */
+	public static ArrayList<Benchmark> createBenchmarks() {
+		ArrayList<Benchmark> benchmarks = new ArrayList<Benchmark>();
+		benchmarks.add(new GameBenchmark(
+				"CheckersGame.updateAvailableMoves") {
+			@Override
+			public long run() {
+				getGame().updateAvailableMoves();
+				return getGame().getPlayerTurn();
+			}
+		});
+		benchmarks.add(new GameBenchmark("CheckersGame.moveUndo") {
+			// Source and destination blocks of each available move
+			private GameBlock[] srcPieces;
+			private GameBlock[] destPieces;
+			// Index of the next move to make
+			private int next;
+
+			@Override
+			public void setUp() {
+				super.setUp();
+				ArrayList<MoveData> moves = getGame().getAvailableMoves();
+				srcPieces = new GameBlock[moves.size()];
+				destPieces = new GameBlock[moves.size()];
+				for (int i = 0; i < moves.size(); i++) {
+					srcPieces[i] = moves.get(i).getSrcPiece();
+					destPieces[i] = moves.get(i).getDestPiece();
+				}
+				next = 0;
+			}
+
+			@Override
+			public long run() {
+				boolean moved = getGame().move(srcPieces[next],
+						destPieces[next]);
+				if (moved) {
+					getGame().undo();
+				}
+				next = (next + 1) % srcPieces.length;
+				return moved ? 1 : 0;
+			}
+		});
+		benchmarks.add(new GameBenchmark("CheckersGame.copy") {
+			@Override
+			public long run() {
+				return getGame().copy().getPlayerTurn();
+			}
+		});
+		benchmarks.add(new GameBenchmark("CheckersBoard.copy") {
+			@Override
+			public long run() {
+				CheckersBoard board = getGame().getGameBoard().copy();
+				return board.getKey();
+			}
+		});
+		benchmarks.add(new GameBenchmark("CheckersGame.getScores") {
+			@Override
+			public long run() {
+				int[] scores = getGame().getScores();
+				return scores[0] + scores[1];
+			}
+		});
+		for (int i = 0; i < SCALE_RATIOS.length; i++) {
+			benchmarks.add(new DrawBenchmark(SCALE_RATIOS[i]));
+		}
+		return benchmarks;
+	}
+
+	/**
+	 * Creates and returns a two-player Regular game, with Force Jumps and
+	 * move guides on, after a fixed series of opening moves.
+	 *
+	 * @return
+	 */
+	public static CheckersGame createGame() {
+		CheckersSettingsManager settings = new CheckersSettingsManager();
+		settings.setForceJumps(true);
+		settings.setMoveGuides(true);
+		CheckersGame game = new CheckersGame(GameOpponent.PLAYER,
+				GameType.REGULAR, settings);
+		for (int i = 0; i < OPENING_MOVES && !game.isGameOver(); i++) {
+			ArrayList<MoveData> moves = game.getAvailableMoves();
+			MoveData move = moves.get((i * 7) % moves.size());
+			game.move(move.getSrcPiece(), move.getDestPiece());
+		}
+		return game;
+	}
+
+	/**
+	 * Benchmark of an operation on a game, created by createGame.
+	 */
+	private abstract static class GameBenchmark extends Benchmark {
+
+		// Game the operation works on
+		private CheckersGame game;
+
+		GameBenchmark(String name) {
+			super(name);
+		}
+
+		@Override
+		public void setUp() {
+			game = createGame();
+		}
+
+		/**
+		 * Get game the operation works on
+		 *
+		 * @return
+		 */
+		CheckersGame getGame() {
+			return game;
+		}
+	}
+
+	/**
+	 * Benchmark of drawing the board canvas, as the board panel does, into an
+	 * offscreen image at a scale ratio.
+	 */
+	private static class DrawBenchmark extends Benchmark {
+
+		// Scale ratio the canvas is drawn at
+		private final double ratio;
+		// Canvas holding the board and its gloss
+		private GraphicCanvas canvas;
+		// Image drawn into, sized as the board panel at the scale ratio
+		private BufferedImage image;
+		// Screen data the canvas is drawn with
+		private ScreenData screenData;
+
+		DrawBenchmark(double ratio) {
+			super("GraphicCanvas.draw@" + ratio);
+			this.ratio = ratio;
+		}
+
+		@Override
+		public void setUp() {
+			ThemeManager themeManager = ThemeManager.getThemeManager();
+			if (themeManager.getCurrentTheme() == null) {
+				themeManager.setTheme(themeManager.getThemes().get(0));
+				themeManager.updateTheme();
+			}
+			canvas = new GraphicCanvas("boardCanvas");
+			BufferedImage gloss = themeManager.getImage("gloss-board");
+			canvas.addDrawable("gloss-board", new Graphic("gloss-board",
+					gloss, 0, 0, new Dimension(gloss.getWidth(),
+							gloss.getHeight()), 2));
+			canvas.addDrawable("board", new BoardRenderer(createGame()
+					.getGameBoard()));
+			int size = (int) Math.round(1024 * ratio);
+			image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+			screenData = new ScreenData(1024, 1024, size, size, ratio);
+		}
+
+		@Override
+		public long run() {
+			Graphics2D g = image.createGraphics();
+			canvas.draw(g, screenData);
+			g.dispose();
+			return image.getRGB(image.getWidth() / 2, image.getHeight() / 2);
+		}
+	}
+}
@@ -1,36 +1,22 @@
 package com.timothysinard.Checkers.core;
 
-import java.awt.Dimension;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.util.ArrayList;
+/**
+ * Grid of the blocks of a board. The board holds no drawing state, and is
+ * drawn by the gui's BoardRenderer.
+ */
+public class Board {
 
-import com.timothysinard.Checkers.gui.Drawable;
-import com.timothysinard.Checkers.gui.Graphic;
-import com.timothysinard.Checkers.gui.ScreenData;
-import com.timothysinard.Checkers.utils.ThemeManager;
-
-public class Board implements Drawable {
-
-	// Store Board ID
-	private final String id;
 	// Store Board width and height
 	private final int boardSizeX;
 	private final int boardSizeY;
 	// Store number of moves
 	private int moveCount;
-	// Collection of drawable graphic objects
-	private final ArrayList<Drawable> graphics;
-	// Store the layer the board will be drawn
-	private final int layerZ = 0;
 	// 2-Dimensional array representing the board grid
 	private final GameBlock[][] board;
 
 	public Board(int size_x, int size_y) {
-		this.id = "drawable-board";
 		this.boardSizeX = size_x;
 		this.boardSizeY = size_y;
-		this.graphics = new ArrayList<Drawable>();
 		board = new GameBlock[boardSizeX][boardSizeY];
 		// Fill board with empty blocks
 		for (int y = 0; y < boardSizeY; y++) {
@@ -68,15 +54,6 @@ public class Board implements Drawable {
 		return moveCount;
 	}
 
-	/**
-	 * Get collection of drawable graphics
-	 * 
-	 * @return
-	 */
-	public ArrayList<Drawable> getGraphics() {
-		return graphics;
-	}
-
 	/**
 	 * Get 2-Dimensional board
 	 * 
@@ -117,20 +94,6 @@ public class Board implements Drawable {
 		return board[pos_x][pos_y];
 	}
 
-	@Override
-	public String getID() {
-		return id;
-	}
-
-	/**
-	 * Add drawable graphic to drawable collection.
-	 * 
-	 * @param graphic
-	 */
-	public void addGraphic(Drawable graphic) {
-		graphics.add(graphic);
-	}
-
 	/**
 	 * Swap the grid position of two given pieces.
 	 * 
@@ -151,71 +114,6 @@ public class Board implements Drawable {
 		board[srcLocX][srcLocY] = destPiece;
 	}
 
-	@Override
-	public int getZ() {
-		return layerZ;
-	}
-
-	@Override
-	public void draw(Graphics2D g, ScreenData sd) {
-
-		BufferedImage image = ThemeManager.getThemeManager().getImage(
-				"background");
-		if (image != null) {
-			// Draw rescaled image
-			g.drawImage(image, 0, 0,
-					(int) Math.round(image.getWidth() * sd.getScaleRatio()),
-					(int) Math.round(image.getHeight() * sd.getScaleRatio()),
-					null);
-		}
-
-		// Draw collection of graphics
-		for (Drawable d : graphics) {
-			if (d instanceof Graphic) {
-				Graphic graphic = (Graphic) d;
-				int size_x = (int) Math.round(graphic.getOriginalSize()
-						.getWidth() * sd.getWidthScale());
-				int size_y = (int) Math.round(graphic.getOriginalSize()
-						.getHeight() * sd.getHeightScale());
-				graphic.setSize(new Dimension(size_x, size_y));
-				int loc_x = (int) ((graphic.getGridPosX() * (128 * sd
-						.getWidthScale())) + (size_x / 2) + (128 * sd
-						.getWidthScale()));
-				int loc_y = (int) ((graphic.getGridPosY() * (128 * sd
-						.getHeightScale())) + (size_y / 2) + (128 * sd
-						.getHeightScale()));
-				System.out.println(loc_x + ", " + loc_y);
-				graphic.setPosX(loc_x);
-				graphic.setPosY(loc_y);
-			}
-			d.draw(g, sd);
-		}
-
-		drawBoardPieces(g, sd);
-
-	}
-
-	/**
-	 * Call individual draw function for each piece on board. Receives the
-	 * graphic to draw on and the latest screen data.
-	 * 
-	 * @param g
-	 * @param sd
-	 */
-	private void drawBoardPieces(Graphics2D g, ScreenData sd) {
-		for (int y = 0; y < boardSizeY; y++) {
-			for (int x = 0; x < boardSizeX; x++) {
-				board[x][y].draw(g, sd);
-			}
-		}
-	}
-
-	@Override
-	public void mouseClickPosition(int x, int y) {
-		// TODO Auto-generated method stub
-
-	}
-
 	@Override
 	public String toString() {
 		String str = "";
@@ -230,19 +128,17 @@ public class Board implements Drawable {
 	}
 
 	/**
-	 * Replace a given GameBlock with an EMPTY enum.
+	 * Replace a given GameBlock with an EMPTY enum. The block is found by its
+	 * own grid position, and is left as is if it is not on this board.
 	 * 
 	 * @param piece
 	 */
 	public void eliminatePiece(GameBlock piece) {
-		for (int y = 0; y < boardSizeY; y++) {
-			for (int x = 0; x < boardSizeX; x++) {
-				if (getBoard()[x][y].equals(piece)) {
-					piece.setOccupant(BlockOccupant.EMPTY);
-					// Piece "eliminated"
-					return;
-				}
-			}
+		int x = piece.getGridX();
+		int y = piece.getGridY();
+		if (x >= 0 && y >= 0 && x < boardSizeX && y < boardSizeY
+				&& board[x][y] == piece) {
+			piece.setOccupant(BlockOccupant.EMPTY);
 		}
 	}
 }
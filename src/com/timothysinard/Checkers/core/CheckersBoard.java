@@ -1,55 +1,181 @@
 package com.timothysinard.Checkers.core;
 
 /**
- * CheckersBoard object class which extends Board
- * 
+ * CheckersBoard object class which extends Board. The board is a view of a
+ * compact Position, which holds the actual rules state. Every change made
+ * through the board is applied to the position, and each GameBlock is kept
+ * in sync for drawing.
  */
 public class CheckersBoard extends Board {
 
+	// Position this board is a view of
+	private final Position position;
+
 	public CheckersBoard() {
-		// Create 8x8 board
-		super(8, 8);
-		// Even horizontal-blocks null?
-		boolean null_even_x;
+		this(new Position());
+	}
 
-		// Nullify unusable blocks
+	public CheckersBoard(Position position) {
+		// Create 8x8 board
+		super(Position.SIZE, Position.SIZE);
+		this.position = position;
+		// Nullify unusable blocks, fill the rest from the position.
 		for (int y = 0; y < super.getSizeY(); y++) {
-			if (y % 2 == 0) {
-				null_even_x = true;
-			} else {
-				null_even_x = false;
-			}
 			for (int x = 0; x < super.getSizeX(); x++) {
-				if ((null_even_x && x % 2 == 0) || (!null_even_x && x % 2 != 0)) {
+				if (Position.getSquare(x, y) < 0) {
 					super.getBoard()[x][y].setOccupant(BlockOccupant.NULL);
+				} else {
+					refreshBlock(super.getBoard()[x][y]);
 				}
 			}
 		}
+		updateDisabledBlocks();
+	}
 
-		// Fill Player 1 blocks.
-		for (int y = 0; y < 3; y++) {
-			for (int x = 0; x < super.getSizeX(); x++) {
-				if (super.getBoard()[x][y].getOccupant() != BlockOccupant.NULL) {
-					super.getBoard()[x][y].setOccupant(BlockOccupant.PLAYER);
-				}
-			}
+	/**
+	 * Get and return the position this board is a view of.
+	 *
+	 * @return
+	 */
+	public Position getPosition() {
+		return position;
+	}
+
+	/**
+	 * Get and return the Zobrist key of the position.
+	 *
+	 * @return
+	 */
+	public long getKey() {
+		return position.getKey();
+	}
+
+	/**
+	 * Get and return the square index of the given block, or -1 if it is not
+	 * a playable block.
+	 *
+	 * @param block
+	 * @return
+	 */
+	public int getSquare(GameBlock block) {
+		return Position.getSquare(block.getGridX(), block.getGridY());
+	}
+
+	/**
+	 * Get and return the block currently placed on the given square index.
+	 *
+	 * @param square
+	 * @return
+	 */
+	public GameBlock getBlock(int square) {
+		return getPiece(Position.getGridX(square), Position.getGridY(square));
+	}
+
+	@Override
+	public void swapPiece(GameBlock srcPiece, GameBlock destPiece) {
+		position.movePiece(getSquare(srcPiece), getSquare(destPiece));
+		super.swapPiece(srcPiece, destPiece);
+	}
+
+	@Override
+	public void eliminatePiece(GameBlock piece) {
+		position.removePiece(getSquare(piece));
+		super.eliminatePiece(piece);
+	}
+
+	/**
+	 * Applies the given move to the position, as in Position.makeMove, and
+	 * moves the blocks to match. Returns the undo record of the move.
+	 *
+	 * @param move
+	 * @param gameType
+	 * @return
+	 */
+	public long makeMove(long move, GameType gameType) {
+		int kings = position.getKings();
+		int disabled = position.getDisabled();
+		long undo = position.makeMove(move, gameType);
+		int src = Move.getSrc(move);
+		int dest = Move.getDest(move);
+		if (src != dest) {
+			super.swapPiece(getBlock(src), getBlock(dest));
+		}
+		refreshBlocks(Move.getCaptured(move) | (kings ^ position.getKings()));
+		if (disabled != position.getDisabled()) {
+			updateDisabledBlocks();
+		}
+		return undo;
+	}
+
+	/**
+	 * Reverts the given move, which must be the last move applied, and moves
+	 * the blocks back to match.
+	 *
+	 * @param move
+	 * @param undo
+	 */
+	public void unmakeMove(long move, long undo) {
+		int kings = position.getKings();
+		int disabled = position.getDisabled();
+		position.unmakeMove(move, undo);
+		int src = Move.getSrc(move);
+		int dest = Move.getDest(move);
+		if (src != dest) {
+			super.swapPiece(getBlock(dest), getBlock(src));
 		}
-		// Fill Player 2 blocks.
-		for (int y = 5; y < 8; y++) {
+		// The moved piece may have been kinged by the move.
+		refreshBlocks(Move.getCaptured(move) | (1 << src)
+				| (kings ^ position.getKings()));
+		if (disabled != position.getDisabled()) {
+			updateDisabledBlocks();
+		}
+	}
+
+	/**
+	 * Sets the occupant and king state of the blocks of every square in the
+	 * given mask from the position.
+	 *
+	 * @param mask
+	 */
+	private void refreshBlocks(int mask) {
+		while (mask != 0) {
+			refreshBlock(getBlock(Integer.numberOfTrailingZeros(mask)));
+			mask &= mask - 1;
+		}
+	}
+
+	/**
+	 * Sets the occupant and king state of the given block from the position.
+	 *
+	 * @param block
+	 */
+	private void refreshBlock(GameBlock block) {
+		int square = getSquare(block);
+		block.setOccupant(position.getOccupant(square));
+		block.setKing(position.isKing(square));
+	}
+
+	/**
+	 * Disables every block outside of the enabled rings of the position,
+	 * including unusable blocks, and enables every block inside.
+	 */
+	private void updateDisabledBlocks() {
+		int offset = position.getRingOffset();
+		int max = super.getSizeX() - offset - 1;
+		for (int y = 0; y < super.getSizeY(); y++) {
 			for (int x = 0; x < super.getSizeX(); x++) {
-				if (super.getBoard()[x][y].getOccupant() != BlockOccupant.NULL) {
-					super.getBoard()[x][y].setOccupant(BlockOccupant.PLAYER2);
-				}
+				super.getBoard()[x][y].setDisabled(
+						x < offset || y < offset || x > max || y > max);
 			}
 		}
 	}
 
 	/**
 	 * Create and return copy of this instance of CheckersBoard
-	 * 
+	 *
 	 */
 	public CheckersBoard copy() {
-		CheckersBoard newBoard = new CheckersBoard();
+		CheckersBoard newBoard = new CheckersBoard(position.copy());
 		for (int y = 0; y < newBoard.getSizeY(); y++) {
 			for (int x = 0; x < newBoard.getSizeX(); x++) {
 				newBoard.getBoard()[x][y] = this.getBoard()[x][y].copy();
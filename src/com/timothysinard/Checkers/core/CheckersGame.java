@@ -2,25 +2,30 @@ package com.timothysinard.Checkers.core;
 
 import java.util.ArrayList;
 
+import com.timothysinard.Checkers.core.engine.EngineSettings;
+import com.timothysinard.Checkers.core.engine.SearchEngine;
+import com.timothysinard.Checkers.core.engine.SearchLimits;
+
 public class CheckersGame {
 
+	// Time, in milliseconds, between the jumps of the AI's jump-series
+	public static final int ENGINE_JUMP_DELAY = 400;
+
 	// Reference to game board
 	private CheckersBoard gameBoard;
 	// Manager to store settings across games
 	private final CheckersSettingsManager settingsManager;
-	// Collection of previous game states.
-	private final ArrayList<CheckersGame> gameHistory;
-	// Collection of available moves
-	private final ArrayList<MoveData> availableMoves;
-	// Current player turn
-	private int playerTurn;
+	// Collection of previous moves, with their undo records.
+	private final MoveHistory gameHistory;
+	// Lines played in the game, with their side lines, by position, null
+	// unless kept by the settings
+	private VariationTree variations;
+	// Collection of available moves, packed
+	private final MoveList availableMoves;
+	// Index of the available moves by source and destination square
+	private final MoveIndex moveIndex;
 	// Is the game over?
 	private boolean gameOver;
-	// Current piece count for each player
-	private int pieceCount_P1;
-	private int pieceCount_P2;
-	// Gameblock that must continue a jump-series.
-	private GameBlock continueJumpPiece;
 	// Current active, selected, piece.
 	private GameBlock activePiece;
 	// Reference to a collection of game state listeners
@@ -29,57 +34,196 @@ public class CheckersGame {
 	private final GameOpponent gameOpponent;
 	// Game Type to play
 	private final GameType gameType;
+	// Generator used to find available moves
+	private final MoveGenerator moveGenerator;
+	// Search engine playing for an AI opponent, created on the AI's first
+	// move and shared with copies of the game, null until then
+	private SearchEngine engine;
+	// Jumps of the AI's jump-series, and the index of the next jump to make
+	private final MoveList engineJumps;
+	private int engineJump;
+	// Runs the AI's search in the background, and hands back its move
+	private GameScheduler scheduler;
+	// Is the AI searching for its move?
+	private boolean engineSearching;
+	// Number of AI turns started, so the move of a cancelled turn is ignored,
+	// read by the search to skip a turn cancelled before it starts
+	private volatile int engineSearches;
 
 	public CheckersGame(GameOpponent gameOpponent, GameType gameType,
 			CheckersSettingsManager settingsManager) {
 
 		this.settingsManager = settingsManager;
-		this.gameHistory = new ArrayList<CheckersGame>();
-		this.availableMoves = new ArrayList<MoveData>();
+		this.gameHistory = new MoveHistory(settingsManager.getHistoryLimit());
+		this.availableMoves = new MoveList();
+		this.moveIndex = new MoveIndex();
 		this.gameStateListeners = new ArrayList<GameStateListener<CheckersGame>>();
 		this.gameBoard = new CheckersBoard();
+		// The tree grows with every position reached, so it is only kept for
+		// analysis.
+		this.variations = null;
+		if (settingsManager.isKeepVariations()) {
+			this.variations = new VariationTree(gameBoard.getPosition());
+		}
 		this.gameOver = false;
-		this.continueJumpPiece = null;
-		this.playerTurn = 1;
-		this.pieceCount_P1 = this.pieceCount_P2 = 12;
 		this.gameOpponent = gameOpponent;
 		this.gameType = gameType;
+		this.moveGenerator = new MoveGenerator();
+		this.engineJumps = new MoveList();
+		this.engineJump = 0;
+		// The engine, and its transposition table, are only allocated once
+		// the AI moves.
+		this.engine = null;
+		this.scheduler = new DirectScheduler();
+		this.engineSearching = false;
+		this.engineSearches = 0;
 		updateAvailableMoves();
-		// Dead code: For future implementation of AI single player
-		if (gameOpponent != GameOpponent.PLAYER) {
-			// Create new AI
+	}
+
+	/**
+	 * Set the scheduler the AI's search is run by. By default the search is
+	 * run at once, and the AI replies before the player's move returns.
+	 * 
+	 * @param scheduler
+	 */
+	public void setScheduler(GameScheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Get and return if the AI is searching for its move, or making the jumps
+	 * of its jump-series. Moves, undo and redo are ignored until it is done.
+	 * 
+	 * @return
+	 */
+	public boolean isEngineMoving() {
+		return engineSearching || engineJump < engineJumps.size();
+	}
+
+	/**
+	 * Cancels the AI's turn, if any, so its move and any jumps not yet made
+	 * are not made. A search under way is stopped, freeing its threads.
+	 */
+	public void cancelEngine() {
+		engineSearches++;
+		if (engineSearching) {
+			engine.stop();
 		}
+		engineSearching = false;
+		engineJump = engineJumps.size();
 	}
 
 	/**
 	 * Undo method which reverts the board to the previous state of game play
-	 * prior to recent move. Sets each related piece of board data to that which
-	 * is stored, then removes the entry from history.
+	 * prior to recent move. Against an AI opponent, the moves of the AI are
+	 * reverted as well, so it is the player's turn again.
 	 */
 	public void undo() {
+		if (isEngineMoving()) {
+			return;
+		}
+		undoMove();
+		while (isAIOpponent() && !gameHistory.isEmpty()
+				&& getPlayerTurn() == BlockOccupant.PLAYER2.getValue()) {
+			undoMove();
+		}
+	}
+
+	/**
+	 * Reverts the most recent move. The move is unmade using its stored undo
+	 * record, then removed from history.
+	 */
+	private void undoMove() {
 		// Only if previous moves have been made
 		if (!gameHistory.isEmpty()) {
-			int undoIndex = gameHistory.size() - 1;
-			CheckersGame prev = gameHistory.get(undoIndex);
-			this.gameBoard = prev.getGameBoard();
-			this.setActive(prev.getActivePiece());
-			this.setPieceCountP1(prev.getPieceCount(BlockOccupant.PLAYER));
-			this.setPieceCountP2(prev.getPieceCount(BlockOccupant.PLAYER2));
-			this.gameOver = prev.isGameOver();
-			this.playerTurn = prev.getPlayerTurn();
-			gameHistory.remove(undoIndex);
-			checkGameState(false);
+			if (activePiece != null) {
+				deselectActive();
+			}
+			long move = gameHistory.peekMove();
+			gameBoard.unmakeMove(move, gameHistory.peekUndo());
+			gameHistory.pop();
+			// The played line is kept as a side line of the parent.
+			if (variations != null) {
+				variations.toParent();
+			}
+			// The game can only have ended on the move undone.
+			this.gameOver = false;
+			// A pending multi-jump piece is active again.
+			activePiece = getContinueJumpPiece();
+			if (activePiece != null) {
+				activePiece.setSelected(true);
+			}
+			checkGameState();
+			updateMoveGuides();
+		}
+	}
 
+	/**
+	 * Redo method which makes again the most recently undone move. Against an
+	 * AI opponent, the undone moves of the AI are made again as well, so it is
+	 * the player's turn again.
+	 */
+	public void redo() {
+		if (isEngineMoving()) {
+			return;
+		}
+		redoMove();
+		while (isAIOpponent() && gameHistory.canRedo()
+				&& getPlayerTurn() == BlockOccupant.PLAYER2.getValue()) {
+			redoMove();
+		}
+		// If the AI's undone moves were not all kept, it moves again.
+		if (isAIOpponent() && !gameOver
+				&& getPlayerTurn() == BlockOccupant.PLAYER2.getValue()) {
+			moveEngine();
 		}
 	}
 
 	/**
-	 * Get and return a copy of the game state history.
+	 * Makes again the most recently undone move, from the history, keeping
+	 * the moves undone after it to be redone.
+	 */
+	private void redoMove() {
+		// Only if undone moves are kept
+		if (gameHistory.canRedo()) {
+			if (activePiece != null) {
+				deselectActive();
+			}
+			long move = gameHistory.peekRedoMove();
+			gameHistory.redo(gameBoard.makeMove(move, gameType));
+			if (variations != null) {
+				variations.play(move, gameBoard.getPosition());
+			}
+			// A pending multi-jump piece is active again.
+			activePiece = getContinueJumpPiece();
+			if (activePiece != null) {
+				activePiece.setSelected(true);
+			}
+			checkGameState();
+			updateMoveGuides();
+		}
+	}
+
+	/**
+	 * Get and return a read-only view of the game move history. The view
+	 * follows the history as moves are made, undone and redone, and is the
+	 * same for the life of the game.
+	 * 
+	 * @return
+	 */
+	public MoveHistoryView getGameHistory() {
+		return gameHistory.getView();
+	}
+
+	/**
+	 * Get and return the tree of the lines played in the game, and their side
+	 * lines, or null if the settings do not keep them. Its current node is the
+	 * current position, and undo moves it to the parent node.
 	 * 
 	 * @return
 	 */
-	public ArrayList<CheckersGame> getGameHistory() {
-		return new ArrayList<CheckersGame>(gameHistory);
+	public VariationTree getVariations() {
+		return variations;
 	}
 
 	/**
@@ -112,12 +256,15 @@ public class CheckersGame {
 	/**
 	 * Get and return the piece count for the given BlockOccupant piece. This
 	 * assumes the board is standard checkers size, NULL count and empty count
-	 * based on 32.
+	 * based on 32. Counts are kept by the position as moves are made.
 	 * 
 	 * @param piece
 	 * @return
 	 */
 	public int getPieceCount(BlockOccupant piece) {
+		Position position = gameBoard.getPosition();
+		int pieceCount_P1 = position.getPieceCount(BlockOccupant.PLAYER);
+		int pieceCount_P2 = position.getPieceCount(BlockOccupant.PLAYER2);
 		if (piece == BlockOccupant.PLAYER) {
 			return pieceCount_P1;
 		} else if (piece == BlockOccupant.PLAYER2) {
@@ -135,7 +282,7 @@ public class CheckersGame {
 	 * @return
 	 */
 	public int getPlayerTurn() {
-		return playerTurn;
+		return gameBoard.getPosition().getPlayerTurn();
 	}
 
 	/**
@@ -162,17 +309,15 @@ public class CheckersGame {
 	 * @param block
 	 */
 	public void setActive(GameBlock block) {
+		// Board clicks are ignored while the AI moves.
+		if (isEngineMoving()) {
+			return;
+		}
 		if (activePiece != null) {
 			// Current active piece is not null, and is an available movable
 			// piece
-			// Will not set as a highlighted target piece
-			for (MoveData md : availableMoves) {
-				if (activePiece.equals(md.getSrcPiece())) {
-					md.getDestPiece().setHighlightAsTarget(false);
-				}
-			}
-			// Sets the current selected piece to false
-			activePiece.setSelected(false);
+			// Will not set as a highlighted target piece, nor selected.
+			deselectActive();
 			// If the current active piece isn't the given new active block,
 			// piece is moved to block location.
 			if (activePiece != block) {
@@ -180,8 +325,8 @@ public class CheckersGame {
 			}
 			// Current active piece is assumed to require a continued-jump until
 			// proven otherwise.
-			activePiece = continueJumpPiece;
-			if (continueJumpPiece != null) {
+			activePiece = getContinueJumpPiece();
+			if (activePiece != null) {
 				activePiece.setSelected(true);
 			}
 		} else if (block.getOccupant() == BlockOccupant.EMPTY
@@ -194,128 +339,72 @@ public class CheckersGame {
 			activePiece = block;
 			activePiece.setSelected(true);
 		}
-		// Check if settings set to display Move Guides
-		if (settingsManager.isMoveGuides()) {
-			if (activePiece == null) {
-				for (MoveData md : availableMoves) {
-					// If no piece is active, show available moves, not
-					// available targets
-					md.getSrcPiece().setHighlightAsMovable(true);
-				}
-			} else {
-				for (MoveData md : availableMoves) {
-					md.getSrcPiece().setHighlightAsMovable(false);
-					if (activePiece.equals(md.getSrcPiece())) {
-						// If active piece exists, show available targets, not
-						// available movable pieces.
-						md.getDestPiece().setHighlightAsTarget(true);
-					}
-				}
-			}
-		}
+		updateMoveGuides();
 	}
 
-	public void addStateListener(GameStateListener<CheckersGame> listener) {
-		gameStateListeners.add(listener);
-		for (GameStateListener<CheckersGame> gsl : gameStateListeners) {
-			gsl.boardChange(this);
-		}
+	/**
+	 * Removes the highlight of the current active piece's targets, and sets it
+	 * as not selected.
+	 */
+	private void deselectActive() {
+		int targets = moveIndex.getTargets(gameBoard.getSquare(activePiece));
+		while (targets != 0) {
+			gameBoard.getBlock(Integer.numberOfTrailingZeros(targets))
+					.setHighlightAsTarget(false);
+			targets &= targets - 1;
+		}
+		activePiece.setSelected(false);
 	}
 
 	/**
-	 * Checks if the given source piece GameBlock and destination piece
-	 * GameBlock have one block between them. Checks if the separating block is
-	 * occupied by an opposing piece of the given source piece, and the
-	 * destination GameBlock is empty. These qualities make up a checkers jump,
-	 * which if they are valid, it will return true.
-	 * 
-	 * @param srcPiece
-	 * @param destPiece
-	 * @return
+	 * Highlights the available movable pieces, or the targets of the active
+	 * piece, if settings are set to display Move Guides.
 	 */
-	private boolean isJump(GameBlock srcPiece, GameBlock destPiece) {
-		GameBlock[][] grid = gameBoard.getBoard();
-		// Checks the method-described conditions for each corner direction.
-		if (((srcPiece.getGridX() + 2 == destPiece.getGridX()
-				&& srcPiece.getGridY() + 2 == destPiece.getGridY() && srcPiece
-				.getOccupant() != grid[srcPiece.getGridX() + 1][srcPiece
-				.getGridY() + 1].getOccupant())
-				|| (srcPiece.getGridX() - 2 == destPiece.getGridX()
-						&& srcPiece.getGridY() + 2 == destPiece.getGridY()
-						&& srcPiece.getOccupant() != grid[srcPiece.getGridX() - 1][srcPiece
-								.getGridY() + 1].getOccupant() && destPiece
-						.getOccupant() == BlockOccupant.EMPTY)
-				|| (srcPiece.getGridX() + 2 == destPiece.getGridX()
-						&& srcPiece.getGridY() - 2 == destPiece.getGridY()
-						&& srcPiece.getOccupant() != grid[srcPiece.getGridX() + 1][srcPiece
-								.getGridY() - 1].getOccupant() && destPiece
-						.getOccupant() == BlockOccupant.EMPTY) || (srcPiece
-				.getGridX() - 2 == destPiece.getGridX()
-				&& srcPiece.getGridY() - 2 == destPiece.getGridY()
-				&& srcPiece.getOccupant() != grid[srcPiece.getGridX() - 1][srcPiece
-						.getGridY() - 1].getOccupant() && destPiece
-				.getOccupant() == BlockOccupant.EMPTY))
-				&& destPiece.getOccupant() == BlockOccupant.EMPTY) {
-			return true;
+	private void updateMoveGuides() {
+		// Check if settings set to display Move Guides
+		if (settingsManager.isMoveGuides()) {
+			// If no piece is active, show available moves, not available
+			// targets.
+			boolean movable = activePiece == null;
+			int movers = moveIndex.getMovers();
+			while (movers != 0) {
+				gameBoard.getBlock(Integer.numberOfTrailingZeros(movers))
+						.setHighlightAsMovable(movable);
+				movers &= movers - 1;
+			}
+			if (activePiece != null) {
+				// If active piece exists, show available targets, not
+				// available movable pieces.
+				int targets = moveIndex.getTargets(gameBoard
+						.getSquare(activePiece));
+				while (targets != 0) {
+					gameBoard.getBlock(Integer.numberOfTrailingZeros(targets))
+							.setHighlightAsTarget(true);
+					targets &= targets - 1;
+				}
+			}
 		}
-		return false;
 	}
 
 	/**
-	 * Checks if a jump will allow additional jumps directly after for
-	 * multi-jumps.
+	 * Get and return the block that must continue a jump-series, or null if
+	 * none.
 	 * 
-	 * @param srcPiece
-	 * @param destPiece
 	 * @return
 	 */
-	private boolean isContJump(GameBlock srcPiece, GameBlock destPiece) {
-		// Verify the given GameBlocks construct a valid Checkers Jump
-		boolean jumped = isJump(srcPiece, destPiece);
-		if (jumped) {
-			// Gets collection available jumps in each direction from given
-			// source piece.
-			ArrayList<ArrayList<GameBlock>> jumpSet = getJumpSet(srcPiece);
-			// Jumpset split into direction collections
-			ArrayList<GameBlock> jumpPieces_NW = jumpSet.get(0);
-			ArrayList<GameBlock> jumpPieces_NE = jumpSet.get(1);
-			ArrayList<GameBlock> jumpPieces_SW = jumpSet.get(2);
-			ArrayList<GameBlock> jumpPieces_SE = jumpSet.get(3);
+	private GameBlock getContinueJumpPiece() {
+		int square = gameBoard.getPosition().getContinueSquare();
+		if (square < 0) {
+			return null;
+		}
+		return gameBoard.getBlock(square);
+	}
 
-			// Each direction is checked if an available jump is available.
-			// The jump is already validated, each check must now check if the
-			// move is valid.
-			// Any time a jump is available in any direction, returns true.
-			if (!jumpPieces_NW.isEmpty()) {
-				if (isValidMove(srcPiece,
-						gameBoard.getBoard()[srcPiece.getGridX() - 2][srcPiece
-								.getGridY() - 2])) {
-					return true;
-				}
-			}
-			if (!jumpPieces_NE.isEmpty()) {
-				if (isValidMove(srcPiece,
-						gameBoard.getBoard()[srcPiece.getGridX() + 2][srcPiece
-								.getGridY() - 2])) {
-					return true;
-				}
-			}
-			if (!jumpPieces_SW.isEmpty()) {
-				if (isValidMove(srcPiece,
-						gameBoard.getBoard()[srcPiece.getGridX() - 2][srcPiece
-								.getGridY() + 2])) {
-					return true;
-				}
-			}
-			if (!jumpPieces_SE.isEmpty()) {
-				if (isValidMove(srcPiece,
-						gameBoard.getBoard()[srcPiece.getGridX() + 2][srcPiece
-								.getGridY() + 2])) {
-					return true;
-				}
-			}
+	public void addStateListener(GameStateListener<CheckersGame> listener) {
+		gameStateListeners.add(listener);
+		for (GameStateListener<CheckersGame> gsl : gameStateListeners) {
+			gsl.boardChange(this);
 		}
-		return false;
 	}
 
 	/**
@@ -333,205 +422,71 @@ public class CheckersGame {
 	 * 
 	 */
 	public void updateAvailableMoves() {
-		// Remove the highlight on all the current available-moves.
-		for (MoveData md : availableMoves) {
-			md.getSrcPiece().setHighlightAsMovable(false);
+		// Remove the highlight on all pieces, which includes the current
+		// available-moves.
+		Position position = gameBoard.getPosition();
+		int pieces = position.getPlayerOne() | position.getPlayerTwo();
+		while (pieces != 0) {
+			int square = Integer.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			gameBoard.getBlock(square).setHighlightAsMovable(false);
+		}
+
+		// Find the moves of the current player. Force Jump settings, and any
+		// continued jump-series, are applied by the generator.
+		if (settingsManager.isIncrementalMoves()) {
+			moveGenerator.generateIncremental(position,
+					settingsManager.isForceJumps(), availableMoves);
+		} else {
+			moveGenerator.generate(position, position.getPlayerTurn(),
+					position.getContinueSquare(),
+					settingsManager.isForceJumps(), availableMoves);
 		}
-		// Remove all collected available moves
-		availableMoves.clear();
-
-		// A move is a jump move, store for possible "Force Jump" settings.
-		boolean jumpMoveExist = false;
-
-		// Loop over board
-		for (int y = 0; y < gameBoard.getSizeY(); y++) {
-			for (int x = 0; x < gameBoard.getSizeX(); x++) {
-				GameBlock[][] grid = gameBoard.getBoard();
-				GameBlock piece = gameBoard.getBoard()[x][y];
-				// If the Block is empty or null, move on.
-				if (piece.getOccupant() == BlockOccupant.EMPTY
-						|| piece.getOccupant() == BlockOccupant.NULL
-						|| piece.isDisabled()) {
-					continue;
-				}
-
-				// Check player-1 moves.
-				if (piece.getOccupant() == BlockOccupant.PLAYER
-						&& playerTurn == BlockOccupant.PLAYER.getValue()) {
-					// SE Direction
-					if (x < gameBoard.getSizeX() - 1
-							&& y < gameBoard.getSizeY() - 1) {
-						if (isValidMove(piece, grid[x + 1][y + 1])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x + 1][y + 1], null,
-									BlockOccupant.PLAYER));
-						}
-					}
-					// SW Direction
-					if (x > 0 && y < gameBoard.getSizeY() - 1) {
-						if (isValidMove(piece, grid[x - 1][y + 1])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x - 1][y + 1], null,
-									BlockOccupant.PLAYER));
-						}
-					}
-					// SE Jump
-					if (x + 1 < gameBoard.getSizeX() - 1
-							&& y + 1 < gameBoard.getSizeY() - 1) {
-						if (isValidMove(piece, grid[x + 2][y + 2])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x + 2][y + 2], grid[x + 1][y + 1],
-									BlockOccupant.PLAYER));
-							jumpMoveExist = true;
-						}
-					}
-					// SW Jump
-					if (x - 1 > 0 && y + 1 < gameBoard.getSizeY() - 1) {
-						if (isValidMove(piece, grid[x - 2][y + 2])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x - 2][y + 2], grid[x - 1][y + 1],
-									BlockOccupant.PLAYER));
-							jumpMoveExist = true;
-						}
-					}
-
-					if (piece.isKing()) {
-						// NE Direction
-						if (x < gameBoard.getSizeX() - 1 && y > 0) {
-							if (isValidMove(piece, grid[x + 1][y - 1])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x + 1][y - 1], null,
-										BlockOccupant.PLAYER));
-							}
-						}
-						// NW Direction
-						if (x > 0 && y > 0) {
-							if (isValidMove(piece, grid[x - 1][y - 1])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x - 1][y - 1], null,
-										BlockOccupant.PLAYER));
-							}
-						}
-						// NE Jump
-						if (x + 1 < gameBoard.getSizeX() - 1 && y - 1 > 0) {
-							if (isValidMove(piece, grid[x + 2][y - 2])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x + 2][y - 2], grid[x + 1][y - 1],
-										BlockOccupant.PLAYER));
-								jumpMoveExist = true;
-							}
-						}
-						// NW Jump
-						if (x - 1 > 0 && y - 1 > 0) {
-							if (isValidMove(piece, grid[x - 2][y - 2])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x - 2][y - 2], grid[x - 1][y - 1],
-										BlockOccupant.PLAYER));
-								jumpMoveExist = true;
-							}
-						}
-					}
-				}
-
-				// Check player-2 moves.
-				if (piece.getOccupant() == BlockOccupant.PLAYER2
-						&& playerTurn == BlockOccupant.PLAYER2.getValue()) {
-					// NE Direction
-					if (x < gameBoard.getSizeX() - 1 && y > 0) {
-						if (isValidMove(piece, grid[x + 1][y - 1])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x + 1][y - 1], null,
-									BlockOccupant.PLAYER2));
-						}
-					}
-					// NW Direction
-					if (x > 0 && y > 0) {
-						if (isValidMove(piece, grid[x - 1][y - 1])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x - 1][y - 1], null,
-									BlockOccupant.PLAYER2));
-						}
-					}
-					// NE Jump
-					if (x + 1 < gameBoard.getSizeX() - 1 && y - 1 > 0) {
-						if (isValidMove(piece, grid[x + 2][y - 2])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x + 2][y - 2], grid[x + 1][y - 1],
-									BlockOccupant.PLAYER2));
-							jumpMoveExist = true;
-						}
-					}
-					// NW Jump
-					if (x - 1 > 0 && y - 1 > 0) {
-						if (isValidMove(piece, grid[x - 2][y - 2])) {
-							availableMoves.add(new MoveData(piece,
-									grid[x - 2][y - 2], grid[x - 1][y - 1],
-									BlockOccupant.PLAYER2));
-							jumpMoveExist = true;
-						}
-					}
+		moveIndex.build(availableMoves);
 
-					if (piece.isKing()) {
-						// SE Direction
-						if (x < gameBoard.getSizeX() - 1
-								&& y < gameBoard.getSizeY() - 1) {
-							if (isValidMove(piece, grid[x + 1][y + 1])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x + 1][y + 1], null,
-										BlockOccupant.PLAYER2));
-							}
-						}
-						// SW Direction
-						if (x > 0 && y < gameBoard.getSizeY() - 1) {
-							if (isValidMove(piece, grid[x - 1][y + 1])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x - 1][y + 1], null,
-										BlockOccupant.PLAYER2));
-							}
-						}
-						// SE Jump
-						if (x + 1 < gameBoard.getSizeX() - 1
-								&& y + 1 < gameBoard.getSizeY() - 1) {
-							if (isValidMove(piece, grid[x + 2][y + 2])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x + 2][y + 2], grid[x + 1][y + 1],
-										BlockOccupant.PLAYER2));
-								jumpMoveExist = true;
-							}
-						}
-						// SW Jump
-						if (x - 1 > 0 && y + 1 < gameBoard.getSizeY() - 1) {
-							if (isValidMove(piece, grid[x - 2][y + 2])) {
-								availableMoves.add(new MoveData(piece,
-										grid[x - 2][y + 2], grid[x - 1][y + 1],
-										BlockOccupant.PLAYER2));
-								jumpMoveExist = true;
-							}
-						}
-					}
-				}
-			}
-		}
-		// If Force Jump is on and a jump move exists, remove all non-jump moves
-		// from available list
-		if (settingsManager.isForceJumps() && jumpMoveExist) {
-			// Temporarily clone the collection to avoid conflicts
-			ArrayList<MoveData> tempClone = new ArrayList<MoveData>(
-					availableMoves);
-			for (MoveData md : tempClone) {
-				if (md.getJumpedPiece() == null) {
-					availableMoves.remove(md);
-				}
-			}
-		}
 		// If settings have Guided Moves enabled, highlight the available moves.
 		if (settingsManager.isMoveGuides()) {
-			for (MoveData md : availableMoves) {
-				md.getSrcPiece().setHighlightAsMovable(true);
+			int movers = moveIndex.getMovers();
+			while (movers != 0) {
+				gameBoard.getBlock(Integer.numberOfTrailingZeros(movers))
+						.setHighlightAsMovable(true);
+				movers &= movers - 1;
 			}
 		}
 	}
 
+	/**
+	 * Get and return the available moves as MoveData, for display.
+	 * 
+	 * @return
+	 */
+	public ArrayList<MoveData> getAvailableMoves() {
+		ArrayList<MoveData> moves = new ArrayList<MoveData>();
+		for (int i = 0; i < availableMoves.size(); i++) {
+			moves.add(toMoveData(availableMoves.get(i)));
+		}
+		return moves;
+	}
+
+	/**
+	 * Creates and returns MoveData of the given packed move, referencing the
+	 * blocks of the current board. Only the first jumped block is referenced.
+	 * 
+	 * @param move
+	 * @return
+	 */
+	public MoveData toMoveData(long move) {
+		GameBlock jumped = null;
+		if (Move.isJump(move)) {
+			jumped = gameBoard.getBlock(Integer.numberOfTrailingZeros(Move
+					.getCaptured(move)));
+		}
+		BlockOccupant player = gameBoard.getPosition().getOccupant(
+				Move.getSrc(move));
+		return new MoveData(gameBoard.getBlock(Move.getSrc(move)),
+				gameBoard.getBlock(Move.getDest(move)), jumped, player);
+	}
+
 	/**
 	 * Moves given source block to destination block.
 	 * 
@@ -540,70 +495,184 @@ public class CheckersGame {
 	 * @return
 	 */
 	public boolean move(GameBlock srcPiece, GameBlock destPiece) {
+		// While the AI moves, only its own jumps are made.
+		if (isEngineMoving()) {
+			return false;
+		}
+		// Player 2 is only moved by the AI, even if it has no move under way.
+		if (isAIOpponent()
+				&& getPlayerTurn() == BlockOccupant.PLAYER2.getValue()) {
+			return false;
+		}
+		return makeMove(srcPiece, destPiece);
+	}
+
+	/**
+	 * Moves given source block to destination block, for a player or for the
+	 * AI. If it is then the AI's turn, it starts its move.
+	 * 
+	 * @param srcPiece
+	 * @param destPiece
+	 * @return
+	 */
+	private boolean makeMove(GameBlock srcPiece, GameBlock destPiece) {
 		// If game over, move isn't made
 		if (gameOver) {
 			return false;
 		}
-		// Add copy of this game state to the history collection.
-		gameHistory.add(this.copy());
-		for (MoveData md : availableMoves) {
-			// Loop through available moves
-			// If the source block and destination block match, swap their data.
-			if (md.getSrcPiece().equals(srcPiece)
-					&& md.getDestPiece().equals(destPiece)) {
-				// Swap an occupied block with empty block
-				gameBoard.swapPiece(srcPiece, destPiece);
-				// If move involved a jump then
-				if (md.getJumpedPiece() != null) {
-					// Decrement appropriate count
-					if (md.getJumpedPiece().getOccupant() == BlockOccupant.PLAYER) {
-						pieceCount_P1--;
-					} else if (md.getJumpedPiece().getOccupant() == BlockOccupant.PLAYER2) {
-						pieceCount_P2--;
-					}
-					// Remove the jumped piece
-					gameBoard.eliminatePiece(md.getJumpedPiece());
-					// If the jump can be continued, set the continuedJumpPiece
-					// to source.
-					if (isContJump(srcPiece, destPiece)) {
-						continueJumpPiece = srcPiece;
-					} else {
-						continueJumpPiece = null;
-					}
+		// Look up the available move matching the source and destination.
+		int index = moveIndex.indexOf(gameBoard.getSquare(srcPiece),
+				gameBoard.getSquare(destPiece));
+		if (index < 0) {
+			// If move isn't available, return false.
+			return false;
+		}
+		long move = availableMoves.get(index);
+		// Make the move, adding its undo record to the history collection.
+		// Jumped pieces are removed, and kings are made, by the board.
+		gameHistory.push(move, gameBoard.makeMove(move, gameType));
+		if (variations != null) {
+			variations.play(move, gameBoard.getPosition());
+		}
+		checkGameState();
+		// If it is the AI's turn, it makes its move.
+		if (isAIOpponent() && !gameOver
+				&& getPlayerTurn() == BlockOccupant.PLAYER2.getValue()) {
+			moveEngine();
+		}
+		return true;
+	}
+
+	/**
+	 * Schedules the next jump of the AI's jump-series, or starts the search
+	 * for its next move. A jump-series is found as a single move, and is made
+	 * one jump at a time through the scheduler, each after ENGINE_JUMP_DELAY,
+	 * so the board is drawn between jumps. The remaining jumps are scheduled
+	 * by the next calls, as the AI keeps its turn.
+	 */
+	private void moveEngine() {
+		if (engineJump >= engineJumps.size()) {
+			searchEngine();
+			return;
+		}
+		final int turn = engineSearches;
+		int delay = engineJump == 0 ? 0 : ENGINE_JUMP_DELAY;
+		scheduler.runOnGameThread(new Runnable() {
+			@Override
+			public void run() {
+				// The turn may have been cancelled while waiting.
+				if (turn != engineSearches
+						|| engineJump >= engineJumps.size()) {
+					return;
 				}
+				long jump = engineJumps.get(engineJump++);
+				if (!makeMove(gameBoard.getBlock(Move.getSrc(jump)),
+						gameBoard.getBlock(Move.getDest(jump)))) {
+					// The rest of the series can't be made either.
+					engineJump = engineJumps.size();
+				}
+			}
+		}, delay);
+	}
 
-				// If a jump can be continued, check the game state without
-				// rotating turns.
-				if (continueJumpPiece != null) {
-					checkGameState(false);
-				} else {
-					// Check game state, rotate turns.
-					checkGameState(true);
+	/**
+	 * Searches for the AI's move through the scheduler, on a copy of the
+	 * position, so the board is not held up. The move found is handed back
+	 * to the game's thread and made, unless the search was cancelled.
+	 */
+	private void searchEngine() {
+		final int search = ++engineSearches;
+		final SearchEngine searchEngine = getEngine();
+		final Position root = gameBoard.getPosition().copy();
+		final boolean forceJumps = settingsManager.isForceJumps();
+		engineSearching = true;
+		scheduler.runInBackground(new Runnable() {
+			@Override
+			public void run() {
+				long move = Move.NONE;
+				RuntimeException error = null;
+				try {
+					// A turn cancelled before the search starts is not searched.
+					if (search == engineSearches) {
+						move = searchEngine.findMove(root, gameType,
+								forceJumps);
+					}
+				} catch (RuntimeException e) {
+					error = e;
 				}
-				return true;
+				final long found = move;
+				final RuntimeException failure = error;
+				scheduler.runOnGameThread(new Runnable() {
+					@Override
+					public void run() {
+						engineMoveFound(search, found, failure);
+					}
+				}, 0);
 			}
+		});
+	}
+
+	/**
+	 * Makes the first jump of the move found by the given search, on the
+	 * game's thread. The move of a cancelled search is ignored, and a failed
+	 * search is reported once the board accepts input again.
+	 * 
+	 * @param search
+	 * @param move
+	 * @param failure
+	 */
+	private void engineMoveFound(int search, long move,
+			RuntimeException failure) {
+		if (search != engineSearches) {
+			return;
+		}
+		engineSearching = false;
+		if (failure != null) {
+			throw failure;
 		}
-		// If move isn't available, remove the last history entry, and return
-		// false.
-		gameHistory.remove(gameHistory.size() - 1);
-		return false;
+		if (move == Move.NONE) {
+			return;
+		}
+		gameBoard.getPosition().getJumps(move, gameType, engineJumps);
+		engineJump = 0;
+		moveEngine();
+	}
+
+	/**
+	 * Get and return if player 2 is played by the AI.
+	 * 
+	 * @return
+	 */
+	private boolean isAIOpponent() {
+		return gameOpponent != GameOpponent.PLAYER;
 	}
 
 	/**
-	 * Checks the game state, given boolean determines if the player turn is
-	 * rotated after the check.
+	 * Get and return the search engine playing for the AI, creating it on
+	 * first use.
 	 * 
-	 * @param rotateTurns
+	 * @return
 	 */
-	private void checkGameState(boolean rotateTurns) {
+	private SearchEngine getEngine() {
+		if (engine == null) {
+			engine = new SearchEngine(SearchLimits.forOpponent(gameOpponent),
+					EngineSettings.forOpponent(gameOpponent));
+		}
+		return engine;
+	}
+
+	/**
+	 * Checks the game state after the board has changed. Player turns, kings
+	 * and Reverse mode updates are applied by the move itself.
+	 */
+	private void checkGameState() {
 		// If the game is over, do not continue checking.
 		if (gameOver) {
 			return;
 		}
-		// Has a king been made?
-		boolean kinged = checkKing();
 		// If player 1 runs out of pieces, react based on Game Type
-		if (pieceCount_P1 == 0) {
+		Position position = gameBoard.getPosition();
+		if (position.getPieceCount(BlockOccupant.PLAYER) == 0) {
 			if (gameType == GameType.REGULAR) {
 				gameOver(BlockOccupant.PLAYER2);
 			} else if (gameType == GameType.REVERSE) {
@@ -611,7 +680,7 @@ public class CheckersGame {
 			}
 			// Game over, return.
 			return;
-		} else if (pieceCount_P2 == 0) {
+		} else if (position.getPieceCount(BlockOccupant.PLAYER2) == 0) {
 			// If player 2 runs out of pieces, react based on Game Type
 			if (gameType == GameType.REGULAR) {
 				gameOver(BlockOccupant.PLAYER);
@@ -621,37 +690,14 @@ public class CheckersGame {
 			// Game over, return.
 			return;
 		}
-		// If a king has been made, do not allow a multi-jump to continue.
-		if (kinged) {
-			continueJumpPiece = null;
-		}
-		// If a multi-jump cannot be made then
-		if (continueJumpPiece == null) {
-			// If turns will be rotated, then set new player's turn
-			if (rotateTurns) {
-				if (playerTurn == BlockOccupant.PLAYER.getValue()) {
-					playerTurn = BlockOccupant.PLAYER2.getValue();
-
-					if (gameOpponent != GameOpponent.PLAYER) {
-						// Perform AI move, for future implementation
-					}
-				} else if (playerTurn == BlockOccupant.PLAYER2.getValue()) {
-					playerTurn = BlockOccupant.PLAYER.getValue();
-				}
-			}
-		}
 		// Update the listeners with this current instance of the game.
 		for (GameStateListener<CheckersGame> gsl : gameStateListeners) {
 			gsl.boardChange(this);
 		}
-
-		// If Reverse game type, apply the updates related to Reverse mode
-		if (gameType == GameType.REVERSE) {
-			updateReverseMode();
-		}
 		updateAvailableMoves();
 		// If no moves are available, the opposing player automatically wins.
 		if (availableMoves.isEmpty()) {
+			int playerTurn = getPlayerTurn();
 			if (playerTurn == BlockOccupant.PLAYER.getValue()) {
 				gameOver(BlockOccupant.PLAYER2);
 			} else if (playerTurn == BlockOccupant.PLAYER2.getValue()) {
@@ -661,53 +707,11 @@ public class CheckersGame {
 	}
 
 	/**
-	 * Checks if a piece needs to be kinged.
-	 * 
-	 * @return
-	 */
-	private boolean checkKing() {
-		int offset = 0;
-		boolean kinged = false;
-		// If the Game Type is Reverse, the board shrinks in certain cases.
-		// Due to this, an offset must be determined for the new edges of the
-		// board.
-		if (gameType == GameType.REVERSE) {
-			for (int i = 0; i < gameBoard.getSizeX(); i++) {
-				if (!gameBoard.getBoard()[i][i].isDisabled()) {
-					offset = i;
-					break;
-				}
-			}
-		}
-		int sizeX = gameBoard.getSizeX() - 1;
-		int sizeY = gameBoard.getSizeY() - 1;
-		// Loop over the top and bottom edge of board
-		for (int x = offset; x <= sizeX - offset; x++) {
-			// If top of board, for P1, contains a P2 piece, and isn't already a
-			// king, then king them.
-			if (gameBoard.getBoard()[x][0 + offset].getOccupant() == BlockOccupant.PLAYER2) {
-				if (gameBoard.getBoard()[x][0 + offset].isKing()) {
-					continue;
-				}
-				kinged = true;
-				gameBoard.getBoard()[x][0 + offset].setKing(true);
-			}
-			// If bottom of board, for P2, contains a P1 piece, and isn't
-			// already a king, then king them.
-			if (gameBoard.getBoard()[x][sizeY - offset].getOccupant() == BlockOccupant.PLAYER) {
-				if (gameBoard.getBoard()[x][sizeY - offset].isKing()) {
-					continue;
-				}
-				kinged = true;
-				gameBoard.getBoard()[x][sizeY - offset].setKing(true);
-			}
-		}
-		return kinged;
-
-	}
-
-	/**
-	 * Creates and returns a copy of the current Checkers Game.
+	 * Creates and returns a copy of the current Checkers Game. Against an AI
+	 * opponent, the copy shares the search engine and scheduler of this game,
+	 * so the two games should not search at the same time. A copy taken while
+	 * the AI moves makes the AI's move itself, searching with its own engine
+	 * if this game is still searching.
 	 * 
 	 * @return
 	 */
@@ -716,59 +720,40 @@ public class CheckersGame {
 		CheckersGame newGame = new CheckersGame(this.getGameOpponent(),
 				this.getGameType(), settingsManager);
 		// Set game variables to current game variables.
-		newGame.playerTurn = this.getPlayerTurn();
 		newGame.gameOver = this.isGameOver();
-		if (this.activePiece != null) {
-			// Active piece is set to a copy of current active piece.
-			newGame.setActive(this.activePiece.copy());
-		} else {
-			newGame.setActive(null);
-		}
-		// Board is set to a copy of the board.
+		// Board is set to a copy of the board, which holds the player turn
+		// and continued jump piece.
 		newGame.gameBoard = this.gameBoard.copy();
-		newGame.setPieceCountP1(this.pieceCount_P1);
-		newGame.setPieceCountP2(this.pieceCount_P2);
-		if (continueJumpPiece != null) {
-			// Jump piece is set to a copy of the continued jump piece.
-			newGame.setJumpPiece(this.continueJumpPiece.copy());
-		} else {
-			newGame.setJumpPiece(null);
+		newGame.availableMoves.copyFrom(this.availableMoves);
+		newGame.moveIndex.build(newGame.availableMoves);
+		newGame.gameHistory.copyFrom(gameHistory);
+		if (variations != null) {
+			newGame.variations = variations.copy();
+		}
+		// The engine is shared rather than allocated again, and the jumps of
+		// an AI jump-series not yet made are kept.
+		if (!this.engineSearching) {
+			newGame.engine = this.engine;
+		}
+		newGame.scheduler = this.scheduler;
+		newGame.engineJumps.copyFrom(this.engineJumps);
+		newGame.engineJump = this.engineJump;
+		// The search and jumps under way in this game are not made on the
+		// copy, so it starts its own.
+		if (this.engineSearching
+				|| newGame.engineJump < newGame.engineJumps.size()) {
+			newGame.moveEngine();
 		}
-		// Game state listeners are added to new game.
-		for (GameStateListener<CheckersGame> gsl : this.gameStateListeners) {
-			newGame.addStateListener(gsl);
+		if (this.activePiece != null) {
+			// Active piece is set to the copy of current active piece.
+			newGame.activePiece = newGame.gameBoard.getPiece(
+					activePiece.getGridX(), activePiece.getGridY());
 		}
+		// Game state listeners are added to new game.
+		newGame.gameStateListeners.addAll(this.gameStateListeners);
 		return newGame;
 	}
 
-	/**
-	 * Sets player 1 piece count to given value.
-	 * 
-	 * @param val
-	 */
-	private void setPieceCountP1(int val) {
-		this.pieceCount_P1 = val;
-	}
-
-	/**
-	 * Sets player 2 piece count to given value.
-	 * 
-	 * @param val
-	 */
-	private void setPieceCountP2(int val) {
-		this.pieceCount_P2 = val;
-	}
-
-	/**
-	 * Sets the current continuing jump-piece to given Game Block. This is the
-	 * piece that is used to make a multi-jump.
-	 * 
-	 * @param piece
-	 */
-	private void setJumpPiece(GameBlock piece) {
-		this.continueJumpPiece = piece;
-	}
-
 	/**
 	 * Ends the game, setting winner to given BlockOccupant player.
 	 * 
@@ -781,276 +766,21 @@ public class CheckersGame {
 		}
 	}
 
-	/**
-	 * Checks if a move from give source to given destination is valid.
-	 * 
-	 * @param srcPiece
-	 * @param destPiece
-	 * @return
-	 */
-	private boolean isValidMove(GameBlock srcPiece, GameBlock destPiece) {
-		// If the source or destination are disabled blocks, it isn't a valid
-		// move.
-		if (srcPiece.isDisabled() || destPiece.isDisabled()) {
-			return false;
-		}
-		// Collect the grid positions
-		int srcLocX = srcPiece.getGridX();
-		int srcLocY = srcPiece.getGridY();
-		int destLocX = destPiece.getGridX();
-		int destLocY = destPiece.getGridY();
-		int sizeX = gameBoard.getSizeX() - 1;
-		int sizeY = gameBoard.getSizeY() - 1;
-		// The destination is not empty, null block, off the board, or another
-		// piece requires a jump
-		if (destPiece.getOccupant() != BlockOccupant.EMPTY
-				|| destPiece.getOccupant() == BlockOccupant.NULL
-				|| (srcLocY > destLocY && !srcPiece.isKing() && playerTurn == 1)
-				|| (srcLocY < destLocY && !srcPiece.isKing() && playerTurn == 2)
-				|| destLocY > sizeY
-				|| destLocX > sizeX
-				|| destLocY < 0
-				|| destLocX < 0
-				|| (continueJumpPiece != null && !srcPiece.getID().equals(
-						continueJumpPiece.getID()))) {
-			return false;
-		}
-
-		// Checking if jump attempt is valid.
-		// Collect jump sets
-		ArrayList<ArrayList<GameBlock>> jumpSet = getJumpSet(srcPiece);
-		ArrayList<GameBlock> jumpPieces_NW = jumpSet.get(0);
-		ArrayList<GameBlock> jumpPieces_NE = jumpSet.get(1);
-		ArrayList<GameBlock> jumpPieces_SW = jumpSet.get(2);
-		ArrayList<GameBlock> jumpPieces_SE = jumpSet.get(3);
-
-		// South East jump isn't off board
-		if (srcLocX + 2 <= sizeX && srcLocY + 2 <= sizeY) {
-			// That direction is a jump only Player 1 can make naturally, or
-			// Player 2 jump in that direction if they are kinged.
-			if ((jumpPieces_SE.contains(srcPiece) && playerTurn == 1 && gameBoard
-					.getBoard()[srcLocX + 2][srcLocY + 2] == destPiece)
-					|| (jumpPieces_SE.contains(srcPiece) && playerTurn == 2
-							&& srcPiece.isKing() && gameBoard.getBoard()[srcLocX + 2][srcLocY + 2] == destPiece)) {
-				return true;
-			}
-		}
-		// South West jump isn't off board
-		if (srcLocX - 2 >= 0 && srcLocY + 2 <= sizeY) {
-			// That direction is a jump only Player 1 can make naturally, or
-			// Player 2 jump in that direction if they are kinged.
-			if ((jumpPieces_SW.contains(srcPiece) && playerTurn == 1 && gameBoard
-					.getBoard()[srcLocX - 2][srcLocY + 2] == destPiece)
-					|| (jumpPieces_SW.contains(srcPiece) && playerTurn == 2
-							&& srcPiece.isKing() && gameBoard.getBoard()[srcLocX - 2][srcLocY + 2] == destPiece)) {
-				return true;
-			}
-		}
-		// North West Jump isn't off board
-		if (srcLocX - 2 >= 0 && srcLocY - 2 >= 0) {
-			// That direction is a jump only Player 2 can make naturally, or
-			// Player 1 jump in that direction if they are kinged.
-			if ((jumpPieces_NW.contains(srcPiece) && playerTurn == 1
-					&& srcPiece.isKing() && gameBoard.getBoard()[srcLocX - 2][srcLocY - 2] == destPiece)
-					|| (jumpPieces_NW.contains(srcPiece) && playerTurn == 2 && gameBoard
-							.getBoard()[srcLocX - 2][srcLocY - 2] == destPiece)) {
-				return true;
-			}
-		}
-		// North East Jump isn't off board
-		if (srcLocX + 2 <= sizeX && srcLocY - 2 >= 0) {
-			// That direction is a jump only Player 2 can make naturally, or
-			// Player 1 jump in that direction if they are kinged.
-			if ((jumpPieces_NE.contains(srcPiece) && playerTurn == 1
-					&& srcPiece.isKing() && gameBoard.getBoard()[srcLocX + 2][srcLocY - 2] == destPiece)
-					|| (jumpPieces_NE.contains(srcPiece) && playerTurn == 2 && gameBoard
-							.getBoard()[srcLocX + 2][srcLocY - 2] == destPiece)) {
-				return true;
-			}
-		}
-
-		// Checks a non-jump, single, move. If player cannot make a move
-		// naturally, they must be a king.
-		if (((srcLocX + 1 == destLocX && srcLocY + 1 == destLocY && playerTurn == 1)
-				|| (srcLocX - 1 == destLocX && srcLocY + 1 == destLocY && playerTurn == 1)
-				|| (srcLocX - 1 == destLocX && srcLocY - 1 == destLocY
-						&& playerTurn == 1 && srcPiece.isKing())
-				|| (srcLocX + 1 == destLocX && srcLocY - 1 == destLocY
-						&& playerTurn == 1 && srcPiece.isKing())
-				|| (srcLocX + 1 == destLocX && srcLocY + 1 == destLocY
-						&& srcPiece.isKing() && playerTurn == 2)
-				|| (srcLocX - 1 == destLocX && srcLocY + 1 == destLocY
-						&& srcPiece.isKing() && playerTurn == 2)
-				|| (srcLocX - 1 == destLocX && srcLocY - 1 == destLocY && playerTurn == 2) || (srcLocX + 1 == destLocX
-				&& srcLocY - 1 == destLocY && playerTurn == 2))
-				&& (continueJumpPiece == null)) {
-			return true;
-		}
-		// All conditions fail, move isn't valid.
-		return false;
-	}
-
-	/**
-	 * Gets and returns a collection of smaller collections, which store
-	 * organized possible jumps available for given source piece. Element 0 is
-	 * North-West direction collection, Element 1 is North-East direction
-	 * collection, Element 2 is South-West direction collection, Element 3 is
-	 * South-East direction collection.
-	 * 
-	 * @param srcPiece
-	 * @return
-	 */
-	private ArrayList<ArrayList<GameBlock>> getJumpSet(GameBlock srcPiece) {
-		int srcLocX = srcPiece.getGridX();
-		int srcLocY = srcPiece.getGridY();
-		int sizeX = gameBoard.getSizeX() - 1;
-		int sizeY = gameBoard.getSizeY() - 1;
-		BlockOccupant opponent = null;
-		if (playerTurn == 1) {
-			opponent = BlockOccupant.PLAYER2;
-		} else if (playerTurn == 2) {
-			opponent = BlockOccupant.PLAYER;
-		}
-		ArrayList<ArrayList<GameBlock>> jumpSet = new ArrayList<ArrayList<GameBlock>>();
-		ArrayList<GameBlock> jumpPieces_NW = new ArrayList<GameBlock>();
-		ArrayList<GameBlock> jumpPieces_NE = new ArrayList<GameBlock>();
-		ArrayList<GameBlock> jumpPieces_SW = new ArrayList<GameBlock>();
-		ArrayList<GameBlock> jumpPieces_SE = new ArrayList<GameBlock>();
-
-		// Loop over board
-		for (int y = 0; y < gameBoard.getSizeY(); y++) {
-			for (int x = 0; x < gameBoard.getSizeX(); x++) {
-
-				// Check for the South West jumps
-				if (srcLocX - 2 >= 0 && srcLocY + 2 <= sizeY) {
-					if (gameBoard.getBoard()[srcLocX - 1][srcLocY + 1]
-							.getOccupant() == opponent) {
-						if (gameBoard.getBoard()[srcLocX - 2][srcLocY + 2]
-								.getOccupant() == BlockOccupant.EMPTY) {
-							jumpPieces_SW.add(gameBoard.getBoard()[x][y]);
-						}
-					}
-				}
-				// Check for the South East Jumps
-				if (srcLocX + 2 <= sizeX && srcLocY + 2 <= sizeY) {
-					if (gameBoard.getBoard()[srcLocX + 1][srcLocY + 1]
-							.getOccupant() == opponent) {
-						if (gameBoard.getBoard()[srcLocX + 2][srcLocY + 2]
-								.getOccupant() == BlockOccupant.EMPTY) {
-							jumpPieces_SE.add(srcPiece);
-						}
-
-					}
-				}
-				// Check for the North East jumps
-				if (srcLocX + 2 <= sizeX && srcLocY - 2 >= 0) {
-					if (gameBoard.getBoard()[srcLocX + 1][srcLocY - 1]
-							.getOccupant() == opponent) {
-						if (gameBoard.getBoard()[srcLocX + 2][srcLocY - 2]
-								.getOccupant() == BlockOccupant.EMPTY) {
-							jumpPieces_NE.add(gameBoard.getBoard()[x][y]);
-						}
-					}
-				}
-				// Check for North West jumps
-				if (srcLocX - 2 >= 0 && srcLocY - 2 >= 0) {
-					if (gameBoard.getBoard()[srcLocX - 1][srcLocY - 1]
-							.getOccupant() == opponent) {
-						if (gameBoard.getBoard()[srcLocX - 2][srcLocY - 2]
-								.getOccupant() == BlockOccupant.EMPTY) {
-							jumpPieces_NW.add(gameBoard.getBoard()[x][y]);
-						}
-					}
-				}
-			}
-		}
-		// This order is essential for other methods using the jumpSet
-		// collection. Do not change.
-		jumpSet.add(jumpPieces_NW);
-		jumpSet.add(jumpPieces_NE);
-		jumpSet.add(jumpPieces_SW);
-		jumpSet.add(jumpPieces_SE);
-		return jumpSet;
-	}
-
 	/**
 	 * Get and return scores. Player 1 in index 0, Player 2 in index 1. Score
 	 * based on piece count, worth 1 point each, and kinged pieces, worth an
-	 * additional 1 point.
+	 * additional 1 point. Read from the counts kept by the position.
 	 * 
 	 * @return
 	 */
 	public int[] getScores() {
+		Position position = gameBoard.getPosition();
 		int[] scores = new int[2];
-		// Initial points based on piece count.
-		scores[0] = this.getPieceCount(BlockOccupant.PLAYER);
-		scores[1] = this.getPieceCount(BlockOccupant.PLAYER2);
-		// Traverse board, kinged pieces gain additional points.
-		for (int y = 0; y < this.getGameBoard().getSizeY(); y++) {
-			for (int x = 0; x < this.getGameBoard().getSizeX(); x++) {
-				GameBlock gameBlock = this.getGameBoard().getBoard()[x][y];
-				if (gameBlock.isKing()) {
-					if (gameBlock.getOccupant() == BlockOccupant.PLAYER) {
-						scores[0]++;
-					} else if (gameBlock.getOccupant() == BlockOccupant.PLAYER2) {
-						scores[1]++;
-					}
-				}
-			}
-		}
+		scores[0] = position.getPieceCount(BlockOccupant.PLAYER)
+				+ position.getKingCount(BlockOccupant.PLAYER);
+		scores[1] = position.getPieceCount(BlockOccupant.PLAYER2)
+				+ position.getKingCount(BlockOccupant.PLAYER2);
 		return scores;
 	}
 
-	/**
-	 * Updates game functionality based on Reverse Mode game type.
-	 */
-	public void updateReverseMode() {
-		// List of disabled blocks, for closing edges.
-		ArrayList<GameBlock> disabled = new ArrayList<GameBlock>();
-
-		int x_max = 0;
-		int y_max = 0;
-		int x_min = 0;
-		int y_min = 0;
-		// Get next corner piece that is still available.
-		for (int i = 0; i < gameBoard.getSizeX(); i++) {
-			if (!gameBoard.getBoard()[i][i].isDisabled()) {
-				x_min = y_min = i;
-				x_max = y_max = gameBoard.getSizeX() - i - 1;
-				break;
-			}
-		}
-		// Minimum size is 4 x 4
-		if (x_max - x_min < 4) {
-			return;
-		}
-		// If minimum size not met, disable edge pieces.
-		for (int i = x_min; i <= x_max; i++) {
-			GameBlock block1 = gameBoard.getBoard()[i][y_min];
-			GameBlock block2 = gameBoard.getBoard()[i][y_max];
-			GameBlock block3 = gameBoard.getBoard()[x_min][i];
-			GameBlock block4 = gameBoard.getBoard()[x_max][i];
-			// If any edge block is occupied, no blocks are disabled.
-			if ((block1.getOccupant() != BlockOccupant.NULL && block1
-					.getOccupant() != BlockOccupant.EMPTY)
-					|| (block2.getOccupant() != BlockOccupant.NULL && block2
-							.getOccupant() != BlockOccupant.EMPTY)
-					|| (block3.getOccupant() != BlockOccupant.NULL && block3
-							.getOccupant() != BlockOccupant.EMPTY)
-					|| (block4.getOccupant() != BlockOccupant.NULL && block4
-							.getOccupant() != BlockOccupant.EMPTY)) {
-				return;
-			}
-			// Edge is clear, add disabled blocks.
-			disabled.add(block1);
-			disabled.add(block2);
-			disabled.add(block3);
-			disabled.add(block4);
-		}
-
-		// Traverse disabled collection, set blocks as disabled.
-		for (GameBlock b : disabled) {
-			b.setDisabled(true);
-		}
-	}
 }
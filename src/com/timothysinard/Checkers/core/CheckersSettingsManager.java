@@ -11,11 +11,77 @@ public class CheckersSettingsManager {
 	private boolean moveGuides;
 	// Game type of current game
 	private GameType gameType;
+	// Are available moves kept up to date incrementally after each move
+	private boolean incrementalMoves;
+	// Most moves kept in the history of a game
+	private int historyLimit;
+	// Are the lines played in a game, and their side lines, kept for analysis
+	private boolean keepVariations;
 
 	public CheckersSettingsManager() {
 		forceJumps = false;
 		moveGuides = false;
 		gameType = GameType.REGULAR;
+		incrementalMoves = true;
+		historyLimit = MoveHistory.DEFAULT_LIMIT;
+		keepVariations = false;
+	}
+
+	/**
+	 * Returns if a new game keeps a tree of the lines played and their side
+	 * lines. The tree is not bounded by the history limit, so it is off by
+	 * default.
+	 * 
+	 * @return
+	 */
+	public boolean isKeepVariations() {
+		return keepVariations;
+	}
+
+	/**
+	 * Set if a new game keeps a tree of the lines played and their side lines.
+	 * 
+	 * @param keepVariations
+	 */
+	public void setKeepVariations(boolean keepVariations) {
+		this.keepVariations = keepVariations;
+	}
+
+	/**
+	 * Returns the most moves kept in the history of a game, for undo and redo.
+	 * 
+	 * @return
+	 */
+	public int getHistoryLimit() {
+		return historyLimit;
+	}
+
+	/**
+	 * Set the most moves kept in the history of a new game.
+	 * 
+	 * @param historyLimit
+	 */
+	public void setHistoryLimit(int historyLimit) {
+		this.historyLimit = historyLimit;
+	}
+
+	/**
+	 * Returns if available moves are kept up to date incrementally, only
+	 * finding again the moves of pieces near the squares a move changed.
+	 * 
+	 * @return
+	 */
+	public boolean isIncrementalMoves() {
+		return incrementalMoves;
+	}
+
+	/**
+	 * Set if available moves are kept up to date incrementally.
+	 * 
+	 * @param incrementalMoves
+	 */
+	public void setIncrementalMoves(boolean incrementalMoves) {
+		this.incrementalMoves = incrementalMoves;
 	}
 
 	/**
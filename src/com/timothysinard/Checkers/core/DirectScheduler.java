@@ -0,0 +1,19 @@
+package com.timothysinard.Checkers.core;
+
+/**
+ * Scheduler that runs every task at once on the calling thread, ignoring
+ * delays. Used by games played without a GUI, where nothing needs to be
+ * drawn between moves, so the AI replies before a move returns.
+ */
+public class DirectScheduler implements GameScheduler {
+
+	@Override
+	public void runInBackground(Runnable task) {
+		task.run();
+	}
+
+	@Override
+	public void runOnGameThread(Runnable task, int delay) {
+		task.run();
+	}
+}
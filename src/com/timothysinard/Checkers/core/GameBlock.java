@@ -1,19 +1,12 @@
 package com.timothysinard.Checkers.core;
 
-import java.awt.Dimension;
-import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-
-import com.timothysinard.Checkers.gui.Drawable;
-import com.timothysinard.Checkers.gui.ScreenData;
-import com.timothysinard.Checkers.utils.ThemeManager;
-
 /**
  * GameBlock class which stores the data of each block on the board. It is a
  * replacement for a "piece" class, and simply references each square on the
- * board.
+ * board. Blocks hold no drawing state, and are drawn by the gui's
+ * BoardRenderer.
  */
-public class GameBlock implements Drawable {
+public class GameBlock {
 
 	// Store block id
 	private String id;
@@ -34,15 +27,6 @@ public class GameBlock implements Drawable {
 	// Grid positions x and y, reference to a 2D matrix grid.
 	private int loc_x;
 	private int loc_y;
-	// Global position
-	private int pos_x;
-	private int pos_y;
-	// Layer position
-	private int layerZ;
-	// Rescaled block size
-	private Dimension newSize;
-	// Original block size
-	private final Dimension originalSize;
 
 	public GameBlock(String id, BlockOccupant occupant, int loc_x, int loc_y) {
 		this.id = id;
@@ -54,11 +38,6 @@ public class GameBlock implements Drawable {
 		this.disabled = false;
 		this.loc_x = loc_x;
 		this.loc_y = loc_y;
-		this.pos_x = -1;
-		this.pos_y = -1;
-		this.originalSize = new Dimension(64, 64);
-		this.newSize = originalSize;
-		this.layerZ = 1;
 	}
 
 	/**
@@ -88,24 +67,6 @@ public class GameBlock implements Drawable {
 		return loc_y;
 	}
 
-	/**
-	 * Returns global board x-position
-	 * 
-	 * @return
-	 */
-	public int getBoardPosX() {
-		return pos_x;
-	}
-
-	/**
-	 * Returns global board y-position
-	 * 
-	 * @return
-	 */
-	public int getBoardPosY() {
-		return pos_y;
-	}
-
 	/**
 	 * Returns if the block is a king
 	 * 
@@ -161,32 +122,13 @@ public class GameBlock implements Drawable {
 		return disabled;
 	}
 
-	@Override
-	public String getID() {
-		return id;
-	}
-
 	/**
-	 * Returns the original size of the block.
+	 * Returns the block ID
 	 * 
 	 * @return
 	 */
-	public Dimension getOriginalSize() {
-		return originalSize;
-	}
-
-	/**
-	 * Returns the resized dimensions of the block.
-	 * 
-	 * @return
-	 */
-	public Dimension getNewSize() {
-		return newSize;
-	}
-
-	@Override
-	public int getZ() {
-		return layerZ;
+	public String getID() {
+		return id;
 	}
 
 	/**
@@ -216,24 +158,6 @@ public class GameBlock implements Drawable {
 		this.loc_y = loc_y;
 	}
 
-	/**
-	 * Sets the global board x-position to given integer value.
-	 * 
-	 * @param x
-	 */
-	public void setPosX(int x) {
-		this.pos_x = x;
-	}
-
-	/**
-	 * Sets the global board y-position to given integer value.
-	 * 
-	 * @param y
-	 */
-	public void setPosY(int y) {
-		this.pos_y = y;
-	}
-
 	/**
 	 * Sets the block as a kinged piece.
 	 * 
@@ -314,109 +238,6 @@ public class GameBlock implements Drawable {
 		this.occupant = occupant;
 	}
 
-	/**
-	 * Sets new block size to given dimension.
-	 * 
-	 * @param size
-	 */
-	public void setNewSize(Dimension size) {
-		this.newSize = size;
-	}
-
-	/**
-	 * Sets the z-layer value, which is the layer position to be drawn. 0 being
-	 * the highest priority.
-	 * 
-	 * @param z
-	 */
-	public void setZ(int z) {
-		this.layerZ = z;
-	}
-
-	@Override
-	public void draw(Graphics2D g, ScreenData sd) {
-		BufferedImage image = null;
-
-		// Get appropriate image
-		ThemeManager tm = ThemeManager.getThemeManager();
-		if (occupant == BlockOccupant.PLAYER) {
-			if (isKing()) {
-				image = tm.getImage("p1k");
-			} else {
-				image = tm.getImage("p1");
-			}
-		} else if (occupant == BlockOccupant.PLAYER2) {
-			if (isKing()) {
-				image = tm.getImage("p2k");
-			} else {
-				image = tm.getImage("p2");
-			}
-		}
-
-		// If not null, rescale and reposition, then draw.
-		double scaledWidth, scaledHeight = 0.00;
-		if (image != null) {
-			scaledWidth = image.getWidth() * sd.getScaleRatio();
-			scaledHeight = image.getHeight() * sd.getScaleRatio();
-			this.newSize = new Dimension((int) (Math.round(scaledWidth)),
-					(int) (Math.round(scaledHeight)));
-			this.pos_x = (int) Math.round(scaledWidth * loc_x);
-			this.pos_y = (int) Math.round(scaledHeight * loc_y);
-
-			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
-					(int) Math.round(scaledHeight), null);
-			// Draws "selected" effect ontop of the block image.
-			image = tm.getImage("block-selected");
-			if (image != null && isSelected()) {
-				g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
-						(int) Math.round(scaledHeight), null);
-			}
-		}
-
-		image = tm.getImage("block-available");
-		// Ensures there isn't a null pointer exception
-		if (image == null) {
-			return;
-		}
-		// Rescales images. Duplicate code due to possible event the images
-		// start at different sizes.
-		scaledWidth = image.getWidth() * sd.getScaleRatio();
-		scaledHeight = image.getHeight() * sd.getScaleRatio();
-		this.newSize = new Dimension((int) (Math.round(scaledWidth)),
-				(int) (Math.round(scaledHeight)));
-		this.pos_x = (int) Math.round(scaledWidth * loc_x);
-		this.pos_y = (int) Math.round(scaledHeight * loc_y);
-		if (image != null && isHighlightAsMovable()) {
-			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
-					(int) Math.round(scaledHeight), null);
-		}
-
-		image = tm.getImage("block-target");
-		if (image != null && isHighlightAsTarget()) {
-			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
-					(int) Math.round(scaledHeight), null);
-		}
-
-		image = tm.getImage("block-hover");
-		if (image != null && isHover()) {
-			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
-					(int) Math.round(scaledHeight), null);
-		}
-
-		image = tm.getImage("block-disabled");
-		if (image != null && isDisabled()) {
-			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
-					(int) Math.round(scaledHeight), null);
-		}
-
-	}
-
-	@Override
-	public void mouseClickPosition(int x, int y) {
-		// TODO Auto-generated method stub
-
-	}
-
 	/**
 	 * Creates and returns a copy of the game block.
 	 * 
@@ -427,7 +248,6 @@ public class GameBlock implements Drawable {
 				this.loc_y);
 		copy.setHover(this.isHover());
 		copy.setKing(this.isKing());
-		copy.setNewSize(this.getNewSize());
 		copy.setSelected(this.isSelected());
 		copy.setDisabled(this.isDisabled());
 		copy.setHighlightAsMovable(this.isHighlightAsMovable());
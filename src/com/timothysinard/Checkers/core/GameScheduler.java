@@ -0,0 +1,25 @@
+package com.timothysinard.Checkers.core;
+
+/**
+ * Runs the work of a game that should not hold up the thread the game is
+ * played on, such as the AI's search. A game is played on a single thread;
+ * work run in the background hands its results back to that thread.
+ */
+public interface GameScheduler {
+
+	/**
+	 * Runs the given task away from the thread the game is played on.
+	 * 
+	 * @param task
+	 */
+	public void runInBackground(Runnable task);
+
+	/**
+	 * Runs the given task on the thread the game is played on, after the
+	 * given delay in milliseconds.
+	 * 
+	 * @param task
+	 * @param delay
+	 */
+	public void runOnGameThread(Runnable task, int delay);
+}
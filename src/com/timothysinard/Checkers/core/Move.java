@@ -0,0 +1,118 @@
+package com.timothysinard.Checkers.core;
+
+/**
+ * Static helpers for moves packed into a single long value. Bits 0 to 31 hold
+ * the mask of captured squares, bits 32 to 36 the source square, bits 37 to
+ * 41 the destination square, and bit 42 is set when the moved piece is
+ * kinged. Packed moves are used by the rules and any automated player, and
+ * MoveData objects are only built from them for the GUI.
+ */
+public final class Move {
+
+	// Value used when no move is available
+	public static final long NONE = -1L;
+	// Bit offsets of the packed fields
+	private static final int SRC_SHIFT = 32;
+	private static final int DEST_SHIFT = 37;
+	private static final int PROMOTION_SHIFT = 42;
+	// Mask of a square field
+	private static final int SQUARE_MASK = 0x1F;
+
+	private Move() {
+	}
+
+	/**
+	 * Packs and returns a move from the given source square to the given
+	 * destination square, capturing the given mask of squares.
+	 *
+	 * @param src
+	 * @param dest
+	 * @param captured
+	 * @param promotion
+	 * @return
+	 */
+	public static long encode(int src, int dest, int captured,
+			boolean promotion) {
+		long move = (captured & 0xFFFFFFFFL) | ((long) src << SRC_SHIFT)
+				| ((long) dest << DEST_SHIFT);
+		if (promotion) {
+			move |= 1L << PROMOTION_SHIFT;
+		}
+		return move;
+	}
+
+	/**
+	 * Get the source square of the given move
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static int getSrc(long move) {
+		return (int) (move >>> SRC_SHIFT) & SQUARE_MASK;
+	}
+
+	/**
+	 * Get the destination square of the given move
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static int getDest(long move) {
+		return (int) (move >>> DEST_SHIFT) & SQUARE_MASK;
+	}
+
+	/**
+	 * Get the mask of squares captured by the given move
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static int getCaptured(long move) {
+		return (int) move;
+	}
+
+	/**
+	 * Returns if the given move captures any piece
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static boolean isJump(long move) {
+		return (int) move != 0;
+	}
+
+	/**
+	 * Returns if the given move kings the moved piece
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static boolean isPromotion(long move) {
+		return (move & (1L << PROMOTION_SHIFT)) != 0;
+	}
+
+	/**
+	 * Get and return the given move in grid positions, such as "(1, 2) to
+	 * (0, 3)".
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static String toString(long move) {
+		if (move == NONE) {
+			return "none";
+		}
+		int src = getSrc(move);
+		int dest = getDest(move);
+		String str = "(" + Position.getGridX(src) + ", "
+				+ Position.getGridY(src) + ") to (" + Position.getGridX(dest)
+				+ ", " + Position.getGridY(dest) + ")";
+		if (isJump(move)) {
+			str += " jumped " + Integer.bitCount(getCaptured(move));
+		}
+		if (isPromotion(move)) {
+			str += " kinged";
+		}
+		return str;
+	}
+}
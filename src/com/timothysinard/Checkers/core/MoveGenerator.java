@@ -0,0 +1,749 @@
+package com.timothysinard.Checkers.core;
+
+import java.util.ArrayList;
+
+/**
+ * Finds the available moves of a Position by shifting whole square masks one
+ * diagonal step at a time, rather than testing each block of the board. The
+ * results are kept as masks of pieces able to step or jump in each
+ * direction, and are replaced on each call to generate. Moves can also be
+ * written as packed moves into a reusable MoveList, either one jump at a time
+ * or with each jump-series as a single move.
+ * 
+ * The moves of a game can also be kept up to date incrementally with
+ * generateIncremental, which only recomputes the pieces near squares changed
+ * since its last call. Comparing each incremental result against a full
+ * generation can be enabled for debugging.
+ */
+public class MoveGenerator {
+
+	// Diagonal directions, in the order used by the jump set.
+	public static final int NORTH_WEST = 0;
+	public static final int NORTH_EAST = 1;
+	public static final int SOUTH_WEST = 2;
+	public static final int SOUTH_EAST = 3;
+	// Squares of the even rows, and the odd rows
+	private static final int EVEN_ROWS = 0x0F0F0F0F;
+	private static final int ODD_ROWS = 0xF0F0F0F0;
+	// Squares on the right-most column, and the left-most column
+	private static final int RIGHT_EDGE = 0x08080808;
+	private static final int LEFT_EDGE = 0x10101010;
+	// Order of move directions for each player, forward directions first
+	private static final int[][] DIRECTION_ORDER = {
+			{ SOUTH_EAST, SOUTH_WEST, NORTH_EAST, NORTH_WEST },
+			{ NORTH_EAST, NORTH_WEST, SOUTH_EAST, SOUTH_WEST } };
+	// Directions a man of each player can move in, and a king can move in
+	private static final int[][] MAN_DIRECTIONS = {
+			{ SOUTH_WEST, SOUTH_EAST }, { NORTH_WEST, NORTH_EAST } };
+	private static final int[] KING_DIRECTIONS = { NORTH_WEST, NORTH_EAST,
+			SOUTH_WEST, SOUTH_EAST };
+	// Square one step from each square in each direction, which a jump in
+	// that direction passes over, and the square the jump lands on. Indexed
+	// by square * 4 + direction, -1 if off the board.
+	private static final int[] STEP_SQUARES = buildTargets(1);
+	private static final int[] JUMP_SQUARES = buildTargets(2);
+	// Masks of the same squares, 0 if off the board
+	private static final int[] STEP_MASKS = buildMasks(STEP_SQUARES);
+	private static final int[] JUMP_MASKS = buildMasks(JUMP_SQUARES);
+	// Compare incremental moves against a full generation on each call?
+	private static boolean verifyIncremental = false;
+
+	// Pieces able to step in each direction
+	private final int[] stepMovers;
+	// Pieces able to jump in each direction
+	private final int[] jumpMovers;
+	// Does any jump exist?
+	private boolean jumpExist;
+	// Reusable lists of the single jumps of each step of a jump-series
+	private final ArrayList<MoveList> jumpLists;
+	// Pieces of each player able to step, and to jump, in each direction, as
+	// kept by generateIncremental, before any jumps are forced
+	private final int[][] trackedSteps;
+	private final int[][] trackedJumps;
+	// Masks of the position the tracked movers were found for
+	private int trackedPlayerOne;
+	private int trackedPlayerTwo;
+	private int trackedKings;
+	private int trackedDisabled;
+	// Have the tracked movers been found yet?
+	private boolean tracking;
+	// Reusable list of the moves of a full generation, when verifying
+	private MoveList verifyMoves;
+
+	public MoveGenerator() {
+		this.stepMovers = new int[4];
+		this.jumpMovers = new int[4];
+		this.jumpExist = false;
+		this.jumpLists = new ArrayList<MoveList>();
+		this.trackedSteps = new int[2][4];
+		this.trackedJumps = new int[2][4];
+		this.tracking = false;
+	}
+
+	/**
+	 * Get if incremental moves are compared against a full generation on each
+	 * call
+	 *
+	 * @return
+	 */
+	public static boolean isVerifyIncremental() {
+		return verifyIncremental;
+	}
+
+	/**
+	 * Set if incremental moves are compared against a full generation on each
+	 * call. Used for debugging, as each call becomes slower.
+	 *
+	 * @param verify
+	 */
+	public static void setVerifyIncremental(boolean verify) {
+		verifyIncremental = verify;
+	}
+
+	/**
+	 * Shifts every square of the given mask one diagonal step in the given
+	 * direction. Squares that would leave the board are dropped.
+	 *
+	 * @param mask
+	 * @param direction
+	 * @return
+	 */
+	public static int shift(int mask, int direction) {
+		switch (direction) {
+		case NORTH_WEST:
+			return ((mask & EVEN_ROWS) >>> 4)
+					| ((mask & ODD_ROWS & ~LEFT_EDGE) >>> 5);
+		case NORTH_EAST:
+			return ((mask & EVEN_ROWS & ~RIGHT_EDGE) >>> 3)
+					| ((mask & ODD_ROWS) >>> 4);
+		case SOUTH_WEST:
+			return ((mask & EVEN_ROWS) << 4)
+					| ((mask & ODD_ROWS & ~LEFT_EDGE) << 3);
+		case SOUTH_EAST:
+			return ((mask & EVEN_ROWS & ~RIGHT_EDGE) << 5)
+					| ((mask & ODD_ROWS) << 4);
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Get and return the square one step from the given square in the given
+	 * direction, which is the square a jump in that direction passes over,
+	 * or -1 if off the board.
+	 *
+	 * @param square
+	 * @param direction
+	 * @return
+	 */
+	public static int getStepSquare(int square, int direction) {
+		return STEP_SQUARES[(square << 2) | direction];
+	}
+
+	/**
+	 * Get and return the square a jump from the given square in the given
+	 * direction lands on, or -1 if off the board.
+	 *
+	 * @param square
+	 * @param direction
+	 * @return
+	 */
+	public static int getJumpSquare(int square, int direction) {
+		return JUMP_SQUARES[(square << 2) | direction];
+	}
+
+	/**
+	 * Get and return the mask of getStepSquare, 0 if off the board.
+	 *
+	 * @param square
+	 * @param direction
+	 * @return
+	 */
+	public static int getStepMask(int square, int direction) {
+		return STEP_MASKS[(square << 2) | direction];
+	}
+
+	/**
+	 * Get and return the mask of getJumpSquare, 0 if off the board.
+	 *
+	 * @param square
+	 * @param direction
+	 * @return
+	 */
+	public static int getJumpMask(int square, int direction) {
+		return JUMP_MASKS[(square << 2) | direction];
+	}
+
+	/**
+	 * Get and return the directions a piece of the given player can move in,
+	 * in direction order. The array is shared, and must not be changed.
+	 *
+	 * @param player
+	 * @param king
+	 * @return
+	 */
+	static int[] getDirections(int player, boolean king) {
+		return king ? KING_DIRECTIONS : MAN_DIRECTIONS[player - 1];
+	}
+
+	/**
+	 * Builds the square the given number of steps from each square in each
+	 * direction, indexed by square * 4 + direction, -1 if off the board.
+	 *
+	 * @param steps
+	 * @return
+	 */
+	private static int[] buildTargets(int steps) {
+		int[] targets = new int[Position.SQUARES * 4];
+		for (int square = 0; square < Position.SQUARES; square++) {
+			int x = Position.getGridX(square);
+			int y = Position.getGridY(square);
+			for (int direction = 0; direction < 4; direction++) {
+				boolean east = direction == NORTH_EAST
+						|| direction == SOUTH_EAST;
+				boolean south = direction == SOUTH_WEST
+						|| direction == SOUTH_EAST;
+				targets[(square << 2) | direction] = Position.getSquare(x
+						+ (east ? steps : -steps), y + (south ? steps : -steps));
+			}
+		}
+		return targets;
+	}
+
+	/**
+	 * Builds the masks of the given squares, 0 for squares of -1.
+	 *
+	 * @param squares
+	 * @return
+	 */
+	private static int[] buildMasks(int[] squares) {
+		int[] masks = new int[squares.length];
+		for (int i = 0; i < squares.length; i++) {
+			masks[i] = squares[i] < 0 ? 0 : 1 << squares[i];
+		}
+		return masks;
+	}
+
+	/**
+	 * Get and return the direction opposite of the given direction.
+	 *
+	 * @param direction
+	 * @return
+	 */
+	public static int opposite(int direction) {
+		return 3 - direction;
+	}
+
+	/**
+	 * Returns if the given direction is forward for the given player. Player 1
+	 * moves down the board, player 2 moves up the board.
+	 *
+	 * @param player
+	 * @param direction
+	 * @return
+	 */
+	public static boolean isForward(int player, int direction) {
+		if (player == BlockOccupant.PLAYER.getValue()) {
+			return direction == SOUTH_WEST || direction == SOUTH_EAST;
+		}
+		return direction == NORTH_WEST || direction == NORTH_EAST;
+	}
+
+	/**
+	 * Finds the moves of the given player. If a continue-jump square is given,
+	 * only jumps of that piece are found. If jumps are forced and any jump
+	 * exists, steps are discarded.
+	 *
+	 * @param position
+	 * @param player
+	 * @param continueSquare
+	 *            square that must continue a jump-series, or -1 if none
+	 * @param forceJumps
+	 */
+	public void generate(Position position, int player, int continueSquare,
+			boolean forceJumps) {
+		int own;
+		int opponent;
+		if (player == BlockOccupant.PLAYER.getValue()) {
+			own = position.getPlayerOne();
+			opponent = position.getPlayerTwo();
+		} else {
+			own = position.getPlayerTwo();
+			opponent = position.getPlayerOne();
+		}
+		if (continueSquare >= 0) {
+			own &= 1 << continueSquare;
+		}
+		int kings = own & position.getKings();
+		int empty = position.getEmpty();
+
+		jumpExist = false;
+		for (int direction = 0; direction < 4; direction++) {
+			int movers = isForward(player, direction) ? own : kings;
+			// Shift targets back onto the pieces that can reach them.
+			int back = opposite(direction);
+			int landing = shift(empty, back);
+			stepMovers[direction] = movers & landing;
+			jumpMovers[direction] = movers & shift(opponent & landing, back);
+			if (jumpMovers[direction] != 0) {
+				jumpExist = true;
+			}
+		}
+		// Steps cannot be made while a jump-series continues, or when a jump
+		// must be made.
+		if (continueSquare >= 0 || (forceJumps && jumpExist)) {
+			for (int direction = 0; direction < 4; direction++) {
+				stepMovers[direction] = 0;
+			}
+		}
+	}
+
+	/**
+	 * Finds the moves of the given player, as in generate, and writes them as
+	 * packed moves to the given list. Moves are listed in board scan order.
+	 * Each piece lists its forward steps, then forward jumps, then the same
+	 * for the backward directions.
+	 *
+	 * @param position
+	 * @param player
+	 * @param continueSquare
+	 *            square that must continue a jump-series, or -1 if none
+	 * @param forceJumps
+	 * @param moves
+	 */
+	public void generate(Position position, int player, int continueSquare,
+			boolean forceJumps, MoveList moves) {
+		generate(position, player, continueSquare, forceJumps);
+		writeMoves(position, player, moves);
+	}
+
+	/**
+	 * Finds the moves of the player to move in the given position, as in
+	 * generate, and writes them to the given list. The movers of both players
+	 * are kept between calls, and only pieces within two diagonal steps of a
+	 * square changed since the last call are found again: the moved piece,
+	 * captured pieces, kinged pieces, disabled squares, and the pieces whose
+	 * steps or jumps pass over them. The first call finds every piece. Any
+	 * position may be given, as changes are found by comparing its masks,
+	 * such as after an undo.
+	 *
+	 * @param position
+	 * @param forceJumps
+	 * @param moves
+	 */
+	public void generateIncremental(Position position, boolean forceJumps,
+			MoveList moves) {
+		int changed = ~0;
+		if (tracking) {
+			changed = (position.getPlayerOne() ^ trackedPlayerOne)
+					| (position.getPlayerTwo() ^ trackedPlayerTwo)
+					| (position.getKings() ^ trackedKings)
+					| (position.getDisabled() ^ trackedDisabled);
+		}
+		if (changed != 0) {
+			int region = getNeighbourhood(changed);
+			trackMovers(position, BlockOccupant.PLAYER.getValue(), region);
+			trackMovers(position, BlockOccupant.PLAYER2.getValue(), region);
+			trackedPlayerOne = position.getPlayerOne();
+			trackedPlayerTwo = position.getPlayerTwo();
+			trackedKings = position.getKings();
+			trackedDisabled = position.getDisabled();
+			tracking = true;
+		}
+
+		int player = position.getPlayerTurn();
+		int continueSquare = position.getContinueSquare();
+		int own = continueSquare >= 0 ? 1 << continueSquare : ~0;
+		jumpExist = false;
+		for (int direction = 0; direction < 4; direction++) {
+			stepMovers[direction] = trackedSteps[player - 1][direction] & own;
+			jumpMovers[direction] = trackedJumps[player - 1][direction] & own;
+			if (jumpMovers[direction] != 0) {
+				jumpExist = true;
+			}
+		}
+		// Steps cannot be made while a jump-series continues, or when a jump
+		// must be made.
+		if (continueSquare >= 0 || (forceJumps && jumpExist)) {
+			for (int direction = 0; direction < 4; direction++) {
+				stepMovers[direction] = 0;
+			}
+		}
+		writeMoves(position, player, moves);
+
+		if (verifyIncremental) {
+			if (verifyMoves == null) {
+				verifyMoves = new MoveList();
+			}
+			generate(position, player, continueSquare, forceJumps,
+					verifyMoves);
+			boolean same = verifyMoves.size() == moves.size();
+			for (int i = 0; same && i < moves.size(); i++) {
+				same = verifyMoves.get(i) == moves.get(i);
+			}
+			if (!same) {
+				throw new IllegalStateException("Incremental moves " + moves
+						+ " do not match generated moves " + verifyMoves
+						+ position.toString());
+			}
+		}
+	}
+
+	/**
+	 * Finds again the tracked movers of the given player on the squares of the
+	 * given region, keeping the movers outside of it.
+	 *
+	 * @param position
+	 * @param player
+	 * @param region
+	 */
+	private void trackMovers(Position position, int player, int region) {
+		int own;
+		int opponent;
+		if (player == BlockOccupant.PLAYER.getValue()) {
+			own = position.getPlayerOne();
+			opponent = position.getPlayerTwo();
+		} else {
+			own = position.getPlayerTwo();
+			opponent = position.getPlayerOne();
+		}
+		own &= region;
+		int kings = own & position.getKings();
+		int empty = position.getEmpty();
+		int[] steps = trackedSteps[player - 1];
+		int[] jumps = trackedJumps[player - 1];
+		for (int direction = 0; direction < 4; direction++) {
+			int movers = isForward(player, direction) ? own : kings;
+			int back = opposite(direction);
+			int landing = shift(empty, back);
+			steps[direction] = (steps[direction] & ~region)
+					| (movers & landing);
+			jumps[direction] = (jumps[direction] & ~region)
+					| (movers & shift(opponent & landing, back));
+		}
+	}
+
+	/**
+	 * Get and return the given squares, and every square one or two diagonal
+	 * steps from them in the same direction. These are the squares whose
+	 * moves can depend on the given squares.
+	 *
+	 * @param squares
+	 * @return
+	 */
+	private static int getNeighbourhood(int squares) {
+		int region = squares;
+		for (int direction = 0; direction < 4; direction++) {
+			int step = shift(squares, direction);
+			region |= step | shift(step, direction);
+		}
+		return region;
+	}
+
+	/**
+	 * Writes the moves of the current movers of the given player to the given
+	 * list, in the order described by generate.
+	 *
+	 * @param position
+	 * @param player
+	 * @param moves
+	 */
+	private void writeMoves(Position position, int player, MoveList moves) {
+		moves.clear();
+		int[] directions = DIRECTION_ORDER[player - 1];
+		int promotionRow = getPromotionRow(position, player);
+		int movers = getMovers();
+		while (movers != 0) {
+			int square = Integer.numberOfTrailingZeros(movers);
+			movers &= movers - 1;
+			int bit = 1 << square;
+			boolean man = !position.isKing(square);
+			for (int i = 0; i < directions.length; i += 2) {
+				for (int d = i; d < i + 2; d++) {
+					if ((stepMovers[directions[d]] & bit) != 0) {
+						int index = (square << 2) | directions[d];
+						moves.add(Move.encode(square, STEP_SQUARES[index], 0,
+								man && (STEP_MASKS[index] & promotionRow) != 0));
+					}
+				}
+				for (int d = i; d < i + 2; d++) {
+					if ((jumpMovers[directions[d]] & bit) != 0) {
+						int index = (square << 2) | directions[d];
+						boolean promotion = man
+								&& (JUMP_MASKS[index] & promotionRow) != 0;
+						moves.add(Move.encode(square, JUMP_SQUARES[index],
+								STEP_MASKS[index], promotion));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the moves of the player to move in the given position, as in
+	 * generate, and writes them to the given list with each whole jump-series
+	 * as a single move. A jump-series move captures the pieces of all of its
+	 * jumps, and ends where the jump-series ends, either when the piece cannot
+	 * jump again or when it is kinged. In Reverse game type, the position is
+	 * changed while jumps are followed, and is restored before returning.
+	 *
+	 * @param position
+	 * @param gameType
+	 * @param forceJumps
+	 * @param moves
+	 */
+	public void generatePaths(Position position, GameType gameType,
+			boolean forceJumps, MoveList moves) {
+		int player = position.getPlayerTurn();
+		MoveList jumps = getJumpList(0);
+		generate(position, player, position.getContinueSquare(), forceJumps,
+				jumps);
+		moves.clear();
+		for (int i = 0; i < jumps.size(); i++) {
+			long move = jumps.get(i);
+			// Most jumps cannot continue, and need not be followed.
+			if (!Move.isJump(move) || !canJumpAgain(position, player, move)) {
+				moves.add(move);
+			} else if (gameType == GameType.REVERSE) {
+				// Every jump is unmade, so the key need not be updated.
+				boolean keyed = position.isKeyed();
+				position.setKeyed(false);
+				addPaths(position, gameType, Move.getSrc(move), 0, move, 1,
+						moves);
+				position.setKeyed(keyed);
+			} else {
+				// Only the moved piece changes while jumping, so its jumps
+				// are followed on masks alone.
+				int src = Move.getSrc(move);
+				int dest = 1 << Move.getDest(move);
+				int captured = Move.getCaptured(move);
+				int opponent = player == BlockOccupant.PLAYER.getValue()
+						? position.getPlayerTwo() : position.getPlayerOne();
+				addPaths(player, src, Move.getDest(move),
+						position.isKing(src), opponent & ~captured,
+						(position.getEmpty() | (1 << src) | captured) & ~dest,
+						captured, getPromotionRow(position, player), moves);
+			}
+		}
+	}
+
+	/**
+	 * Adds each jump-series that continues from the given square to the given
+	 * list, following jumps on the given masks of opponent pieces and empty
+	 * squares. The jump-series began on the given source square, and has
+	 * captured the given pieces so far.
+	 *
+	 * @param player
+	 * @param src
+	 * @param square
+	 * @param king
+	 * @param opponent
+	 * @param empty
+	 * @param captured
+	 * @param promotionRow
+	 * @param moves
+	 */
+	private static void addPaths(int player, int src, int square,
+			boolean king, int opponent, int empty, int captured,
+			int promotionRow, MoveList moves) {
+		int bit = 1 << square;
+		boolean ended = true;
+		int[] directions = getDirections(player, king);
+		for (int i = 0; i < directions.length; i++) {
+			int index = (square << 2) | directions[i];
+			int over = STEP_MASKS[index] & opponent;
+			int land = JUMP_MASKS[index] & empty;
+			if (over == 0 || land == 0) {
+				continue;
+			}
+			ended = false;
+			int next = JUMP_SQUARES[index];
+			if (!king && (land & promotionRow) != 0) {
+				// Being kinged ends the jump-series.
+				addPath(src, next, captured | over, true, moves);
+			} else {
+				addPaths(player, src, next, king, opponent & ~over,
+						(empty | bit | over) & ~land, captured | over,
+						promotionRow, moves);
+			}
+		}
+		if (ended) {
+			addPath(src, square, captured, false, moves);
+		}
+	}
+
+	/**
+	 * Adds the given jump-series to the given list, unless a jump-series made
+	 * in another order has already added the same move.
+	 *
+	 * @param src
+	 * @param dest
+	 * @param captured
+	 * @param promotion
+	 * @param moves
+	 */
+	private static void addPath(int src, int dest, int captured,
+			boolean promotion, MoveList moves) {
+		long move = Move.encode(src, dest, captured, promotion);
+		if (!moves.contains(move)) {
+			moves.add(move);
+		}
+	}
+
+	/**
+	 * Makes the given jump, and adds each jump-series it leads to, from the
+	 * given source square and capturing the given pieces before the jump, to
+	 * the given list. The jump is then unmade. Jumps are made on the position
+	 * so that rings disabled between jumps are taken into account.
+	 *
+	 * @param position
+	 * @param gameType
+	 * @param src
+	 * @param captured
+	 * @param jump
+	 * @param level
+	 * @param moves
+	 */
+	private void addPaths(Position position, GameType gameType, int src,
+			int captured, long jump, int level, MoveList moves) {
+		long undo = position.makeMove(jump, gameType);
+		int dest = Move.getDest(jump);
+		captured |= Move.getCaptured(jump);
+		if (position.getContinueSquare() == dest) {
+			MoveList jumps = getJumpList(level);
+			generate(position, position.getPlayerTurn(), dest, true, jumps);
+			for (int i = 0; i < jumps.size(); i++) {
+				addPaths(position, gameType, src, captured, jumps.get(i),
+						level + 1, moves);
+			}
+		} else {
+			addPath(src, dest, captured, Move.isPromotion(jump), moves);
+		}
+		position.unmakeMove(jump, undo);
+	}
+
+	/**
+	 * Returns if the piece making the given jump of the given player could
+	 * jump again from its destination, as canJump would after the jump.
+	 *
+	 * @param position
+	 * @param player
+	 * @param jump
+	 * @return
+	 */
+	private static boolean canJumpAgain(Position position, int player,
+			long jump) {
+		int src = 1 << Move.getSrc(jump);
+		int square = Move.getDest(jump);
+		int captured = Move.getCaptured(jump);
+		int opponent = (player == BlockOccupant.PLAYER.getValue() ? position
+				.getPlayerTwo() : position.getPlayerOne()) & ~captured;
+		int empty = (position.getEmpty() | src | captured) & ~(1 << square);
+		int[] directions = getDirections(player,
+				position.isKing(Move.getSrc(jump)));
+		for (int i = 0; i < directions.length; i++) {
+			int index = (square << 2) | directions[i];
+			if ((STEP_MASKS[index] & opponent) != 0
+					&& (JUMP_MASKS[index] & empty) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get and return the reusable jump list of the given step of a
+	 * jump-series.
+	 *
+	 * @param level
+	 * @return
+	 */
+	private MoveList getJumpList(int level) {
+		while (jumpLists.size() <= level) {
+			jumpLists.add(new MoveList());
+		}
+		return jumpLists.get(level);
+	}
+
+	/**
+	 * Get and return the mask of squares on which the given player's pieces
+	 * are kinged. This is the far edge of the board, moved inwards by any
+	 * disabled rings.
+	 *
+	 * @param position
+	 * @param player
+	 * @return
+	 */
+	public static int getPromotionRow(Position position, int player) {
+		int offset = position.getRingOffset();
+		if (player == BlockOccupant.PLAYER.getValue()) {
+			return 0xF << ((Position.SIZE - 1 - offset) << 2);
+		}
+		return 0xF << (offset << 2);
+	}
+
+	/**
+	 * Returns if the given player's piece on the given square can jump.
+	 *
+	 * @param position
+	 * @param player
+	 * @param square
+	 * @return
+	 */
+	public static boolean canJump(Position position, int player, int square) {
+		int opponent = player == BlockOccupant.PLAYER.getValue() ? position
+				.getPlayerTwo() : position.getPlayerOne();
+		int empty = position.getEmpty();
+		int[] directions = getDirections(player, position.isKing(square));
+		for (int i = 0; i < directions.length; i++) {
+			int index = (square << 2) | directions[i];
+			if ((STEP_MASKS[index] & opponent) != 0
+					&& (JUMP_MASKS[index] & empty) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get mask of pieces able to step in the given direction
+	 *
+	 * @param direction
+	 * @return
+	 */
+	public int getStepMovers(int direction) {
+		return stepMovers[direction];
+	}
+
+	/**
+	 * Get mask of pieces able to jump in the given direction
+	 *
+	 * @param direction
+	 * @return
+	 */
+	public int getJumpMovers(int direction) {
+		return jumpMovers[direction];
+	}
+
+	/**
+	 * Get mask of all pieces able to move
+	 *
+	 * @return
+	 */
+	public int getMovers() {
+		int movers = 0;
+		for (int direction = 0; direction < 4; direction++) {
+			movers |= stepMovers[direction] | jumpMovers[direction];
+		}
+		return movers;
+	}
+
+	/**
+	 * Returns if any jump was found
+	 *
+	 * @return
+	 */
+	public boolean isJumpExist() {
+		return jumpExist;
+	}
+}
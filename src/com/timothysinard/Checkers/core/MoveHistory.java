@@ -0,0 +1,299 @@
+package com.timothysinard.Checkers.core;
+
+/**
+ * Bounded history of the moves made in a game, each kept as the delta of its
+ * packed move and the packed undo record returned when it was made. Entries
+ * are stored in a ring buffer of primitive arrays, so a move is recorded
+ * without allocating once the buffer has grown, and memory stops growing at
+ * the limit, where the oldest moves are dropped. Undone moves are kept after
+ * the top of the stack until a new move is pushed, so they can be redone.
+ */
+public class MoveHistory implements MoveHistoryView {
+
+	// Default most moves kept
+	public static final int DEFAULT_LIMIT = 1024;
+	// Default number of moves stored before growing
+	private static final int DEFAULT_CAPACITY = 128;
+
+	// Packed moves, in a ring starting at the oldest move
+	private long[] moves;
+	// Undo records of each move
+	private long[] undos;
+	// Most moves kept, undone moves included
+	private final int limit;
+	// Position in the ring of the oldest move
+	private int start;
+	// Number of moves that can be undone
+	private int size;
+	// Number of undone moves, after the top of the stack, that can be redone
+	private int redoSize;
+	// Have the oldest moves been dropped at the limit?
+	private boolean truncated;
+	// Read-only view of this history, which can't be cast back to it
+	private final MoveHistoryView view;
+
+	public MoveHistory() {
+		this(DEFAULT_LIMIT);
+	}
+
+	public MoveHistory(int limit) {
+		if (limit < 1) {
+			throw new IllegalArgumentException(
+					"History limit must be at least 1: " + limit);
+		}
+		this.limit = limit;
+		int capacity = Math.min(DEFAULT_CAPACITY, limit);
+		this.moves = new long[capacity];
+		this.undos = new long[capacity];
+		this.start = 0;
+		this.size = 0;
+		this.redoSize = 0;
+		this.truncated = false;
+		this.view = createView();
+	}
+
+	/**
+	 * Get the read-only view of this history, following its changes
+	 *
+	 * @return
+	 */
+	public MoveHistoryView getView() {
+		return view;
+	}
+
+	/**
+	 * Adds the given move and its undo record to the top of the stack. Any
+	 * undone moves can no longer be redone. If the limit is reached, the
+	 * oldest move is dropped.
+	 *
+	 * @param move
+	 * @param undo
+	 */
+	public void push(long move, long undo) {
+		redoSize = 0;
+		if (size == moves.length && size < limit) {
+			grow();
+		}
+		if (size == moves.length) {
+			// Full at the limit, the oldest move is overwritten.
+			start = (start + 1) % moves.length;
+			size--;
+			truncated = true;
+		}
+		int index = getRingIndex(size);
+		moves[index] = move;
+		undos[index] = undo;
+		size++;
+	}
+
+	/**
+	 * Removes the move on the top of the stack, keeping it to be redone.
+	 */
+	public void pop() {
+		size--;
+		redoSize++;
+	}
+
+	/**
+	 * Returns the most recently undone move to the top of the stack, with the
+	 * given undo record returned when it was made again.
+	 *
+	 * @param undo
+	 */
+	public void redo(long undo) {
+		undos[getRingIndex(size)] = undo;
+		size++;
+		redoSize--;
+	}
+
+	/**
+	 * Removes all moves, keeping the storage for reuse.
+	 */
+	public void clear() {
+		start = 0;
+		size = 0;
+		redoSize = 0;
+		truncated = false;
+	}
+
+	/**
+	 * Replaces the moves of this history with those of the given history,
+	 * undone moves included. The oldest moves are dropped if they do not fit
+	 * in the limit of this history.
+	 *
+	 * @param other
+	 */
+	public void copyFrom(MoveHistory other) {
+		clear();
+		int total = other.size + other.redoSize;
+		for (int i = 0; i < total; i++) {
+			int index = other.getRingIndex(i);
+			push(other.moves[index], other.undos[index]);
+		}
+		int redo = Math.min(other.redoSize, size);
+		size -= redo;
+		redoSize = redo;
+		truncated |= other.truncated;
+	}
+
+	@Override
+	public long getMove(int index) {
+		return moves[getRingIndex(index)];
+	}
+
+	@Override
+	public long getUndo(int index) {
+		return undos[getRingIndex(index)];
+	}
+
+	/**
+	 * Get the packed move on the top of the stack
+	 *
+	 * @return
+	 */
+	public long peekMove() {
+		return moves[getRingIndex(size - 1)];
+	}
+
+	/**
+	 * Get the undo record of the move on the top of the stack
+	 *
+	 * @return
+	 */
+	public long peekUndo() {
+		return undos[getRingIndex(size - 1)];
+	}
+
+	/**
+	 * Get the packed move that redo would return to the top of the stack
+	 *
+	 * @return
+	 */
+	public long peekRedoMove() {
+		return moves[getRingIndex(size)];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public int getRedoSize() {
+		return redoSize;
+	}
+
+	@Override
+	public boolean canRedo() {
+		return redoSize > 0;
+	}
+
+	@Override
+	public int getLimit() {
+		return limit;
+	}
+
+	@Override
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	/**
+	 * Get and return the position in the ring of the move at the given index,
+	 * 0 being the oldest move.
+	 *
+	 * @param index
+	 * @return
+	 */
+	private int getRingIndex(int index) {
+		int ring = start + index;
+		return ring < moves.length ? ring : ring - moves.length;
+	}
+
+	/**
+	 * Creates and returns a view forwarding only the read methods to this
+	 * history.
+	 *
+	 * @return
+	 */
+	private MoveHistoryView createView() {
+		return new MoveHistoryView() {
+			@Override
+			public long getMove(int index) {
+				return MoveHistory.this.getMove(index);
+			}
+
+			@Override
+			public long getUndo(int index) {
+				return MoveHistory.this.getUndo(index);
+			}
+
+			@Override
+			public int size() {
+				return MoveHistory.this.size();
+			}
+
+			@Override
+			public boolean isEmpty() {
+				return MoveHistory.this.isEmpty();
+			}
+
+			@Override
+			public int getRedoSize() {
+				return MoveHistory.this.getRedoSize();
+			}
+
+			@Override
+			public boolean canRedo() {
+				return MoveHistory.this.canRedo();
+			}
+
+			@Override
+			public int getLimit() {
+				return MoveHistory.this.getLimit();
+			}
+
+			@Override
+			public boolean isTruncated() {
+				return MoveHistory.this.isTruncated();
+			}
+
+			@Override
+			public String toString() {
+				return MoveHistory.this.toString();
+			}
+		};
+	}
+
+	/**
+	 * Doubles the storage, up to the limit, unrolling the ring so the oldest
+	 * move is first.
+	 */
+	private void grow() {
+		int capacity = (int) Math.min((long) moves.length * 2, limit);
+		long[] newMoves = new long[capacity];
+		long[] newUndos = new long[capacity];
+		int total = size + redoSize;
+		for (int i = 0; i < total; i++) {
+			newMoves[i] = moves[getRingIndex(i)];
+			newUndos[i] = undos[getRingIndex(i)];
+		}
+		moves = newMoves;
+		undos = newUndos;
+		start = 0;
+	}
+
+	@Override
+	public String toString() {
+		String str = "";
+		for (int i = 0; i < size; i++) {
+			str += Move.toString(getMove(i)) + "\n";
+		}
+		return str;
+	}
+}
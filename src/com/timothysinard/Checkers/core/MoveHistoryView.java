@@ -0,0 +1,68 @@
+package com.timothysinard.Checkers.core;
+
+/**
+ * Read-only view of the moves made in a game, as given to listeners. The view
+ * reflects the game's history as it changes, so it need not be copied.
+ */
+public interface MoveHistoryView {
+
+	/**
+	 * Get the packed move at the given index, 0 being the oldest move kept
+	 *
+	 * @param index
+	 * @return
+	 */
+	public long getMove(int index);
+
+	/**
+	 * Get the undo record of the move at the given index
+	 *
+	 * @param index
+	 * @return
+	 */
+	public long getUndo(int index);
+
+	/**
+	 * Get the number of moves that can be undone
+	 *
+	 * @return
+	 */
+	public int size();
+
+	/**
+	 * Returns if no moves can be undone
+	 *
+	 * @return
+	 */
+	public boolean isEmpty();
+
+	/**
+	 * Get the number of undone moves that can be redone
+	 *
+	 * @return
+	 */
+	public int getRedoSize();
+
+	/**
+	 * Returns if any undone move can be redone
+	 *
+	 * @return
+	 */
+	public boolean canRedo();
+
+	/**
+	 * Get the most moves kept, undone moves included. Older moves are dropped
+	 * once the limit is reached.
+	 *
+	 * @return
+	 */
+	public int getLimit();
+
+	/**
+	 * Returns if the oldest moves were dropped at the limit, so the oldest
+	 * move kept is not the first move of the game
+	 *
+	 * @return
+	 */
+	public boolean isTruncated();
+}
@@ -0,0 +1,130 @@
+package com.timothysinard.Checkers.core;
+
+import java.util.Arrays;
+
+/**
+ * Index of a MoveList by source and destination square. The index is built
+ * once per generation of the list, after which the move between two squares,
+ * the targets of a piece, and the pieces able to move are each found in
+ * constant time. Rebuilding only clears the entries of the previous moves, so
+ * it does not allocate.
+ */
+public class MoveIndex {
+
+	// Index into the list of the move from each source to each destination
+	// square, indexed by source * SQUARES + destination, -1 if none
+	private final int[] moveIndex;
+	// Mask of destination squares of each source square
+	private final int[] targets;
+	// Mask of source squares of each destination square
+	private final int[] sources;
+	// Mask of all source squares, and of all destination squares
+	private int movers;
+	private int destinations;
+
+	public MoveIndex() {
+		this.moveIndex = new int[Position.SQUARES * Position.SQUARES];
+		this.targets = new int[Position.SQUARES];
+		this.sources = new int[Position.SQUARES];
+		this.movers = 0;
+		this.destinations = 0;
+		Arrays.fill(moveIndex, -1);
+	}
+
+	/**
+	 * Rebuilds the index from the given moves. If several moves share a source
+	 * and destination, the first is indexed.
+	 *
+	 * @param moves
+	 */
+	public void build(MoveList moves) {
+		clear();
+		for (int i = 0; i < moves.size(); i++) {
+			long move = moves.get(i);
+			int src = Move.getSrc(move);
+			int dest = Move.getDest(move);
+			if ((targets[src] & (1 << dest)) != 0) {
+				continue;
+			}
+			moveIndex[src * Position.SQUARES + dest] = i;
+			targets[src] |= 1 << dest;
+			sources[dest] |= 1 << src;
+			movers |= 1 << src;
+			destinations |= 1 << dest;
+		}
+	}
+
+	/**
+	 * Removes every entry, clearing only the entries in use.
+	 */
+	public void clear() {
+		while (movers != 0) {
+			int src = Integer.numberOfTrailingZeros(movers);
+			movers &= movers - 1;
+			int dests = targets[src];
+			while (dests != 0) {
+				int dest = Integer.numberOfTrailingZeros(dests);
+				dests &= dests - 1;
+				moveIndex[src * Position.SQUARES + dest] = -1;
+			}
+			targets[src] = 0;
+		}
+		while (destinations != 0) {
+			sources[Integer.numberOfTrailingZeros(destinations)] = 0;
+			destinations &= destinations - 1;
+		}
+	}
+
+	/**
+	 * Returns the index in the list of the move from the given source square
+	 * to the given destination square, or -1 if none.
+	 *
+	 * @param src
+	 * @param dest
+	 * @return
+	 */
+	public int indexOf(int src, int dest) {
+		if (src < 0 || dest < 0) {
+			return -1;
+		}
+		return moveIndex[src * Position.SQUARES + dest];
+	}
+
+	/**
+	 * Get mask of destination squares of the moves from the given square
+	 *
+	 * @param src
+	 * @return
+	 */
+	public int getTargets(int src) {
+		return src < 0 ? 0 : targets[src];
+	}
+
+	/**
+	 * Get mask of source squares of the moves to the given square
+	 *
+	 * @param dest
+	 * @return
+	 */
+	public int getSources(int dest) {
+		return dest < 0 ? 0 : sources[dest];
+	}
+
+	/**
+	 * Get mask of all source squares
+	 *
+	 * @return
+	 */
+	public int getMovers() {
+		return movers;
+	}
+
+	/**
+	 * Get mask of all destination squares
+	 *
+	 * @return
+	 */
+	public int getDestinations() {
+		return destinations;
+	}
+}
@@ -0,0 +1,137 @@
+package com.timothysinard.Checkers.core;
+
+import java.util.Arrays;
+
+/**
+ * Reusable list of packed moves, backed by a primitive array. Clearing the
+ * list keeps its storage, so filling it again does not allocate.
+ */
+public class MoveList {
+
+	// Default number of moves stored before growing
+	private static final int DEFAULT_CAPACITY = 64;
+
+	// Packed moves
+	private long[] moves;
+	// Number of moves stored
+	private int size;
+
+	public MoveList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public MoveList(int capacity) {
+		this.moves = new long[capacity];
+		this.size = 0;
+	}
+
+	/**
+	 * Adds the given packed move to the end of the list.
+	 *
+	 * @param move
+	 */
+	public void add(long move) {
+		if (size == moves.length) {
+			moves = Arrays.copyOf(moves, size * 2);
+		}
+		moves[size++] = move;
+	}
+
+	/**
+	 * Get the packed move at the given index
+	 *
+	 * @param index
+	 * @return
+	 */
+	public long get(int index) {
+		return moves[index];
+	}
+
+	/**
+	 * Sets the packed move at the given index
+	 *
+	 * @param index
+	 * @param move
+	 */
+	public void set(int index, long move) {
+		moves[index] = move;
+	}
+
+	/**
+	 * Get the number of moves in the list
+	 *
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns if the list holds no moves
+	 *
+	 * @return
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Removes all moves, keeping the storage for reuse.
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Returns the index of the first move from the given source square to the
+	 * given destination square, or -1 if none.
+	 *
+	 * @param src
+	 * @param dest
+	 * @return
+	 */
+	public int indexOf(int src, int dest) {
+		for (int i = 0; i < size; i++) {
+			if (Move.getSrc(moves[i]) == src && Move.getDest(moves[i]) == dest) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns if the list holds the given packed move.
+	 *
+	 * @param move
+	 * @return
+	 */
+	public boolean contains(long move) {
+		for (int i = 0; i < size; i++) {
+			if (moves[i] == move) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copies the moves of the given list into this list.
+	 *
+	 * @param other
+	 */
+	public void copyFrom(MoveList other) {
+		clear();
+		for (int i = 0; i < other.size; i++) {
+			add(other.moves[i]);
+		}
+	}
+
+	@Override
+	public String toString() {
+		String str = "";
+		for (int i = 0; i < size; i++) {
+			str += Move.toString(moves[i]) + "\n";
+		}
+		return str;
+	}
+}
@@ -0,0 +1,345 @@
+package com.timothysinard.Checkers.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.timothysinard.Checkers.utils.Timer;
+
+/**
+ * Counts the positions reached from a position by every sequence of moves of
+ * a given number of plies, known as perft, to check the move generator
+ * against reference counts and to measure its speed. Each whole jump-series
+ * is a single move, as in the search, and positions where a player has run
+ * out of pieces are not followed. The root moves are divided between the
+ * threads of a pool, and the count below each root move can be reported
+ * ("divide").
+ *
+ * Run with no arguments to check every reference count, or with the
+ * arguments "depth [type] [force] [threads] [divide] [position]" to count a
+ * single position. The type is the name of a game type, force is "on" or
+ * "off", and the position is the hexadecimal masks
+ * "playerOne,playerTwo,kings,disabled" and the player turn, such as
+ * "fff,fff00000,0,0,1".
+ */
+public class Perft {
+
+	// Standard starting position, written as parsePosition reads it
+	private static final String START_POSITION = "fff,fff00000,0,0,1";
+	// Game type, Force Jump setting and position of each set of reference
+	// counts. Rings are only disabled once empty, so REVERSE is counted from
+	// a later position where rings are disabled within a few plies.
+	private static final GameType[] REFERENCE_TYPES = { GameType.REGULAR,
+			GameType.REGULAR, GameType.REVERSE, GameType.REVERSE };
+	private static final boolean[] REFERENCE_FORCE_JUMPS = { true, false,
+			true, false };
+	private static final String[] REFERENCE_POSITIONS = { START_POSITION,
+			START_POSITION, "4300000,226c1,4102081,0,1",
+			"4300000,226c1,4102081,0,1" };
+	// Reference counts of each set, by depth
+	private static final long[][] REFERENCE_COUNTS = {
+			{ 1, 7, 49, 302, 1469, 7361, 36768, 179740, 845931, 3963680 },
+			{ 1, 7, 49, 379, 2872, 23582, 189143, 1583148, 12985817 },
+			{ 1, 8, 78, 511, 5011, 31486, 316708, 2036408 },
+			{ 1, 8, 88, 632, 7040, 49032, 550264, 3923937 } };
+
+	// Game type whose rules the moves are made by
+	private final GameType gameType;
+	// Must a jump be taken when one is available?
+	private final boolean forceJumps;
+	// Number of threads the root moves are divided between
+	private final int threads;
+
+	public Perft(GameType gameType, boolean forceJumps, int threads) {
+		this.gameType = gameType;
+		this.forceJumps = forceJumps;
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Counts and returns the positions reached from the given position by
+	 * every sequence of moves of the given number of plies.
+	 *
+	 * @param position
+	 * @param depth
+	 * @return
+	 */
+	public long perft(Position position, int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+		MoveList rootMoves = new MoveList();
+		long[] counts = divide(position, depth, rootMoves);
+		long total = 0;
+		for (int i = 0; i < counts.length; i++) {
+			total += counts[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Finds the moves of the given position into the given list, and counts
+	 * and returns the positions reached below each of them at the given
+	 * depth, in the order of the list. The moves are divided between the
+	 * threads of a pool. The given position is not changed.
+	 *
+	 * @param position
+	 * @param depth
+	 * @param rootMoves
+	 * @return
+	 */
+	public long[] divide(Position position, final int depth,
+			MoveList rootMoves) {
+		new MoveGenerator().generatePaths(position.copy(), gameType,
+				forceJumps, rootMoves);
+		long[] counts = new long[rootMoves.size()];
+		if (depth < 1 || isOver(position)) {
+			return counts;
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads,
+				Math.max(1, counts.length)));
+		try {
+			List<Future<Long>> results = new ArrayList<Future<Long>>();
+			for (int i = 0; i < counts.length; i++) {
+				final Position child = position.copy();
+				final long move = rootMoves.get(i);
+				results.add(pool.submit(new Callable<Long>() {
+					public Long call() {
+						child.makeMove(move, gameType);
+						Counter counter = new Counter(depth);
+						return counter.count(child, depth - 1, 1);
+					}
+				}));
+			}
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] = results.get(i).get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Perft was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Perft failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return counts;
+	}
+
+	/**
+	 * Get game type whose rules the moves are made by
+	 *
+	 * @return
+	 */
+	public GameType getGameType() {
+		return gameType;
+	}
+
+	/**
+	 * Get if a jump must be taken when one is available
+	 *
+	 * @return
+	 */
+	public boolean isForceJumps() {
+		return forceJumps;
+	}
+
+	/**
+	 * Get number of threads the root moves are divided between
+	 *
+	 * @return
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Returns if a player has run out of pieces in the given position.
+	 *
+	 * @param position
+	 * @return
+	 */
+	private static boolean isOver(Position position) {
+		return position.getPlayerOne() == 0 || position.getPlayerTwo() == 0;
+	}
+
+	/**
+	 * Counts the positions below one root move, with its own generator and
+	 * move lists so that each thread of the pool counts independently.
+	 */
+	private class Counter {
+
+		// Generator used to find moves
+		private final MoveGenerator moveGenerator;
+		// Reusable move list of each ply
+		private final MoveList[] moveLists;
+
+		Counter(int depth) {
+			this.moveGenerator = new MoveGenerator();
+			this.moveLists = new MoveList[depth + 1];
+			for (int i = 0; i < moveLists.length; i++) {
+				moveLists[i] = new MoveList();
+			}
+		}
+
+		/**
+		 * Counts and returns the positions reached from the given position,
+		 * at the given ply, by every sequence of moves of the given depth.
+		 * The moves of the last ply are counted without being made.
+		 *
+		 * @param position
+		 * @param depth
+		 * @param ply
+		 * @return
+		 */
+		long count(Position position, int depth, int ply) {
+			if (depth == 0) {
+				return 1;
+			}
+			if (isOver(position)) {
+				return 0;
+			}
+			MoveList moves = moveLists[ply];
+			moveGenerator.generatePaths(position, gameType, forceJumps, moves);
+			if (depth == 1) {
+				return moves.size();
+			}
+			long total = 0;
+			for (int i = 0; i < moves.size(); i++) {
+				long move = moves.get(i);
+				long undo = position.makeMove(move, gameType);
+				total += count(position, depth - 1, ply + 1);
+				position.unmakeMove(move, undo);
+			}
+			return total;
+		}
+	}
+
+	/**
+	 * Checks every reference count, or counts a single position if a depth is
+	 * given.
+	 *
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		int threads = Runtime.getRuntime().availableProcessors();
+		if (args.length == 0) {
+			if (!verify(threads)) {
+				System.exit(1);
+			}
+			return;
+		}
+		int depth = Integer.parseInt(args[0]);
+		GameType gameType = args.length > 1 ? GameType.valueOf(args[1]
+				.toUpperCase()) : GameType.REGULAR;
+		boolean forceJumps = args.length <= 2 || args[2].equals("on");
+		if (args.length > 3) {
+			threads = Integer.parseInt(args[3]);
+		}
+		boolean divide = args.length > 4 && args[4].equals("divide");
+		Position position = args.length > 5 ? parsePosition(args[5])
+				: parsePosition(START_POSITION);
+
+		Perft perft = new Perft(gameType, forceJumps, threads);
+		MoveList rootMoves = new MoveList();
+		Timer timer = new Timer();
+		timer.startTimer();
+		long[] counts = perft.divide(position, depth, rootMoves);
+		timer.stopTimer();
+		long total = depth == 0 ? 1 : 0;
+		for (int i = 0; i < counts.length; i++) {
+			total += counts[i];
+			if (divide) {
+				System.out.println(Move.toString(rootMoves.get(i)) + ": "
+						+ counts[i]);
+			}
+		}
+		System.out.println(describe(perft, depth) + ": " + total
+				+ describeSpeed(total, timer.getElapsedTime()));
+	}
+
+	/**
+	 * Counts the position of each set of reference counts to the depth of
+	 * each count, and prints each count. Returns if every count matches.
+	 *
+	 * @param threads
+	 * @return
+	 */
+	private static boolean verify(int threads) {
+		boolean passed = true;
+		for (int i = 0; i < REFERENCE_COUNTS.length; i++) {
+			Perft perft = new Perft(REFERENCE_TYPES[i],
+					REFERENCE_FORCE_JUMPS[i], threads);
+			for (int depth = 1; depth < REFERENCE_COUNTS[i].length; depth++) {
+				Timer timer = new Timer();
+				timer.startTimer();
+				long count = perft.perft(
+						parsePosition(REFERENCE_POSITIONS[i]), depth);
+				timer.stopTimer();
+				long expected = REFERENCE_COUNTS[i][depth];
+				String result = describe(perft, depth) + ": " + count;
+				if (count == expected) {
+					result += describeSpeed(count, timer.getElapsedTime());
+				} else {
+					result += ", expected " + expected + " FAILED";
+					passed = false;
+				}
+				System.out.println(result);
+			}
+		}
+		System.out.println(passed ? "All counts match" : "Counts do not match");
+		return passed;
+	}
+
+	/**
+	 * Get and return the rules and depth of the given count, such as
+	 * "Regular, force jumps on, depth 6".
+	 *
+	 * @param perft
+	 * @param depth
+	 * @return
+	 */
+	private static String describe(Perft perft, int depth) {
+		return perft.getGameType() + ", force jumps "
+				+ (perft.isForceJumps() ? "on" : "off") + ", depth " + depth;
+	}
+
+	/**
+	 * Get and return the time taken by the given count, and the positions
+	 * counted per second.
+	 *
+	 * @param count
+	 * @param elapsedTime
+	 * @return
+	 */
+	private static String describeSpeed(long count, long elapsedTime) {
+		long millis = elapsedTime / 1000000L;
+		long perSecond = elapsedTime > 0 ? (long) (count * 1e9 / elapsedTime)
+				: 0;
+		return " in " + millis + " ms, " + perSecond + " positions/s";
+	}
+
+	/**
+	 * Parses and returns a position written as the hexadecimal masks
+	 * "playerOne,playerTwo,kings,disabled" followed by the player turn.
+	 *
+	 * @param str
+	 * @return
+	 */
+	private static Position parsePosition(String str) {
+		String[] fields = str.split(",");
+		if (fields.length != 5) {
+			throw new IllegalArgumentException("Invalid position: " + str);
+		}
+		Position position = new Position(
+				(int) Long.parseLong(fields[0], 16),
+				(int) Long.parseLong(fields[1], 16),
+				(int) Long.parseLong(fields[2], 16),
+				(int) Long.parseLong(fields[3], 16));
+		position.setPlayerTurn(Integer.parseInt(fields[4]));
+		return position;
+	}
+}
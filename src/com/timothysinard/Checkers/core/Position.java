@@ -0,0 +1,834 @@
+package com.timothysinard.Checkers.core;
+
+/**
+ * Compact representation of a standard 8x8 checkers position. Only the 32
+ * playable blocks are stored, each given a square index counted row by row
+ * from the top-left playable block, so every piece type fits in a single
+ * 32-bit mask. The player turn and any piece that must continue a
+ * jump-series are also stored. Holds no drawing state, and is cheap to copy.
+ * 
+ * Moves are applied with makeMove, which returns a packed undo record that
+ * unmakeMove uses to restore the position exactly. A 64-bit Zobrist key of
+ * the position is updated by every change, so a position can be identified
+ * in constant time. Verifying the key against a key computed from scratch
+ * can be enabled for debugging.
+ * 
+ * The number of men and kings of each player is kept along with the key, and
+ * updated from the squares each change touches, so material is read in
+ * constant time without scanning the board.
+ */
+public class Position {
+
+	// Board width and height in blocks
+	public static final int SIZE = 8;
+	// Number of playable squares
+	public static final int SQUARES = 32;
+	// Starting masks for each player, three rows each.
+	public static final int PLAYER_START = 0x00000FFF;
+	public static final int PLAYER2_START = 0xFFF00000;
+	// Playable squares of each ring, from the outer edge inwards
+	private static final int[] RING_MASKS = buildRingMasks();
+	// Bit offsets of the packed undo record fields
+	private static final int UNDO_RING_SHIFT = 32;
+	private static final int UNDO_TURN_SHIFT = 34;
+	private static final int UNDO_CONTINUE_SHIFT = 35;
+	// Verify the key against a key computed from scratch, and the piece
+	// counts against the masks, after each change?
+	private static boolean verifyKeys = false;
+
+	// Mask of squares occupied by player 1
+	private int playerOne;
+	// Mask of squares occupied by player 2
+	private int playerTwo;
+	// Mask of squares occupied by kinged pieces of either player
+	private int kings;
+	// Mask of squares that are unavailable to use
+	private int disabled;
+	// Current player turn
+	private int playerTurn;
+	// Square that must continue a jump-series, -1 if none
+	private int continueSquare;
+	// Zobrist key of the position
+	private long key;
+	// Number of men and kings of each player
+	private int menOne;
+	private int kingsOne;
+	private int menTwo;
+	private int kingsTwo;
+	// Is the key updated by each change? Not while the jumps of a
+	// jump-series are followed one at a time.
+	private boolean keyed;
+
+	/**
+	 * Creates the standard starting position.
+	 */
+	public Position() {
+		this(PLAYER_START, PLAYER2_START, 0, 0);
+	}
+
+	public Position(int playerOne, int playerTwo, int kings, int disabled) {
+		this.playerOne = playerOne;
+		this.playerTwo = playerTwo;
+		this.kings = kings;
+		this.disabled = disabled;
+		this.playerTurn = BlockOccupant.PLAYER.getValue();
+		this.continueSquare = -1;
+		this.key = Zobrist.getKey(this);
+		this.keyed = true;
+		this.kingsOne = Integer.bitCount(playerOne & kings);
+		this.menOne = Integer.bitCount(playerOne) - kingsOne;
+		this.kingsTwo = Integer.bitCount(playerTwo & kings);
+		this.menTwo = Integer.bitCount(playerTwo) - kingsTwo;
+	}
+
+	/**
+	 * Get if keys are verified against a key computed from scratch after each
+	 * change
+	 *
+	 * @return
+	 */
+	public static boolean isVerifyKeys() {
+		return verifyKeys;
+	}
+
+	/**
+	 * Set if keys are verified against a key computed from scratch, and piece
+	 * counts against the masks, after each change. Used for debugging, as
+	 * each change becomes much slower.
+	 *
+	 * @param verify
+	 */
+	public static void setVerifyKeys(boolean verify) {
+		verifyKeys = verify;
+	}
+
+	/**
+	 * Get if the key is updated by each change
+	 *
+	 * @return
+	 */
+	boolean isKeyed() {
+		return keyed;
+	}
+
+	/**
+	 * Set if the key is updated by each change. While not, the key and the
+	 * piece counts are left as they were, so every change must be unmade
+	 * before it is set again.
+	 *
+	 * @param keyed
+	 */
+	void setKeyed(boolean keyed) {
+		this.keyed = keyed;
+	}
+
+	/**
+	 * Get and return the square index of the given grid position, or -1 if
+	 * the position is off the board or is not a playable block.
+	 *
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public static int getSquare(int x, int y) {
+		if (x < 0 || y < 0 || x >= SIZE || y >= SIZE || ((x + y) & 1) == 0) {
+			return -1;
+		}
+		return (y << 2) + (x >> 1);
+	}
+
+	/**
+	 * Get and return the grid x-position of the given square index.
+	 *
+	 * @param square
+	 * @return
+	 */
+	public static int getGridX(int square) {
+		return ((square & 3) << 1) + (((square >> 2) & 1) ^ 1);
+	}
+
+	/**
+	 * Get and return the grid y-position of the given square index.
+	 *
+	 * @param square
+	 * @return
+	 */
+	public static int getGridY(int square) {
+		return square >> 2;
+	}
+
+	/**
+	 * Get and return the mask of playable squares in the given ring, 0 being
+	 * the outer edge of the board.
+	 *
+	 * @param ring
+	 * @return
+	 */
+	public static int getRingMask(int ring) {
+		return RING_MASKS[ring];
+	}
+
+	/**
+	 * Get mask of player 1 squares
+	 *
+	 * @return
+	 */
+	public int getPlayerOne() {
+		return playerOne;
+	}
+
+	/**
+	 * Get mask of player 2 squares
+	 *
+	 * @return
+	 */
+	public int getPlayerTwo() {
+		return playerTwo;
+	}
+
+	/**
+	 * Get mask of the given player's squares
+	 *
+	 * @param player
+	 * @return
+	 */
+	public int getPieces(BlockOccupant player) {
+		if (player == BlockOccupant.PLAYER) {
+			return playerOne;
+		} else if (player == BlockOccupant.PLAYER2) {
+			return playerTwo;
+		}
+		return 0;
+	}
+
+	/**
+	 * Get number of the given player's men
+	 *
+	 * @param player
+	 * @return
+	 */
+	public int getMenCount(BlockOccupant player) {
+		if (player == BlockOccupant.PLAYER) {
+			return menOne;
+		} else if (player == BlockOccupant.PLAYER2) {
+			return menTwo;
+		}
+		return 0;
+	}
+
+	/**
+	 * Get number of the given player's kings
+	 *
+	 * @param player
+	 * @return
+	 */
+	public int getKingCount(BlockOccupant player) {
+		if (player == BlockOccupant.PLAYER) {
+			return kingsOne;
+		} else if (player == BlockOccupant.PLAYER2) {
+			return kingsTwo;
+		}
+		return 0;
+	}
+
+	/**
+	 * Get number of the given player's pieces, men and kings
+	 *
+	 * @param player
+	 * @return
+	 */
+	public int getPieceCount(BlockOccupant player) {
+		return getMenCount(player) + getKingCount(player);
+	}
+
+	/**
+	 * Get mask of kinged squares
+	 *
+	 * @return
+	 */
+	public int getKings() {
+		return kings;
+	}
+
+	/**
+	 * Get mask of disabled squares
+	 *
+	 * @return
+	 */
+	public int getDisabled() {
+		return disabled;
+	}
+
+	/**
+	 * Get mask of squares a piece can be moved to
+	 *
+	 * @return
+	 */
+	public int getEmpty() {
+		return ~(playerOne | playerTwo | disabled);
+	}
+
+	/**
+	 * Get Zobrist key of the position
+	 *
+	 * @return
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Get current player turn
+	 *
+	 * @return
+	 */
+	public int getPlayerTurn() {
+		return playerTurn;
+	}
+
+	/**
+	 * Set current player turn
+	 *
+	 * @param playerTurn
+	 */
+	public void setPlayerTurn(int playerTurn) {
+		int oldTurn = this.playerTurn;
+		this.playerTurn = playerTurn;
+		updateKey(playerOne, playerTwo, kings, disabled, oldTurn,
+				continueSquare);
+	}
+
+	/**
+	 * Get square that must continue a jump-series, -1 if none
+	 *
+	 * @return
+	 */
+	public int getContinueSquare() {
+		return continueSquare;
+	}
+
+	/**
+	 * Set square that must continue a jump-series, -1 if none
+	 *
+	 * @param continueSquare
+	 */
+	public void setContinueSquare(int continueSquare) {
+		int oldContinue = this.continueSquare;
+		this.continueSquare = continueSquare;
+		updateKey(playerOne, playerTwo, kings, disabled, playerTurn,
+				oldContinue);
+	}
+
+	/**
+	 * Get and return the occupant of the given square index.
+	 *
+	 * @param square
+	 * @return
+	 */
+	public BlockOccupant getOccupant(int square) {
+		int bit = 1 << square;
+		if ((playerOne & bit) != 0) {
+			return BlockOccupant.PLAYER;
+		} else if ((playerTwo & bit) != 0) {
+			return BlockOccupant.PLAYER2;
+		}
+		return BlockOccupant.EMPTY;
+	}
+
+	/**
+	 * Get and return the occupant of the given grid position. Blocks that are
+	 * not playable are NULL.
+	 *
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public BlockOccupant getOccupant(int x, int y) {
+		int square = getSquare(x, y);
+		if (square < 0) {
+			return BlockOccupant.NULL;
+		}
+		return getOccupant(square);
+	}
+
+	/**
+	 * Returns if the piece on the given square is a king.
+	 *
+	 * @param square
+	 * @return
+	 */
+	public boolean isKing(int square) {
+		return (kings & (1 << square)) != 0;
+	}
+
+	/**
+	 * Returns if the given square is disabled.
+	 *
+	 * @param square
+	 * @return
+	 */
+	public boolean isDisabled(int square) {
+		return (disabled & (1 << square)) != 0;
+	}
+
+	/**
+	 * Get and return the number of outer rings that have been disabled.
+	 *
+	 * @return
+	 */
+	public int getRingOffset() {
+		int ring = 0;
+		while (ring < RING_MASKS.length && (disabled & RING_MASKS[ring]) != 0) {
+			ring++;
+		}
+		return ring;
+	}
+
+	/**
+	 * Moves the piece on the given source square to the given destination
+	 * square. The destination is assumed to be empty.
+	 *
+	 * @param src
+	 * @param dest
+	 */
+	public void movePiece(int src, int dest) {
+		int oldPlayerOne = playerOne;
+		int oldPlayerTwo = playerTwo;
+		int oldKings = kings;
+		shiftPiece(src, dest);
+		updateKey(oldPlayerOne, oldPlayerTwo, oldKings, disabled, playerTurn,
+				continueSquare);
+	}
+
+	/**
+	 * Moves the piece on the given source square to the given destination
+	 * square, without updating the key.
+	 *
+	 * @param src
+	 * @param dest
+	 */
+	private void shiftPiece(int src, int dest) {
+		if (src == dest) {
+			return;
+		}
+		int srcBit = 1 << src;
+		int destBit = 1 << dest;
+		if ((playerOne & srcBit) != 0) {
+			playerOne ^= srcBit | destBit;
+		} else if ((playerTwo & srcBit) != 0) {
+			playerTwo ^= srcBit | destBit;
+		}
+		if ((kings & srcBit) != 0) {
+			kings ^= srcBit | destBit;
+		}
+	}
+
+	/**
+	 * Removes any piece on the given square.
+	 *
+	 * @param square
+	 */
+	public void removePiece(int square) {
+		int oldPlayerOne = playerOne;
+		int oldPlayerTwo = playerTwo;
+		int oldKings = kings;
+		int clear = ~(1 << square);
+		playerOne &= clear;
+		playerTwo &= clear;
+		kings &= clear;
+		updateKey(oldPlayerOne, oldPlayerTwo, oldKings, disabled, playerTurn,
+				continueSquare);
+	}
+
+	/**
+	 * Sets the piece on the given square as a king or not.
+	 *
+	 * @param square
+	 * @param king
+	 */
+	public void setKing(int square, boolean king) {
+		int oldKings = kings;
+		if (king) {
+			kings |= 1 << square;
+		} else {
+			kings &= ~(1 << square);
+		}
+		updateKey(playerOne, playerTwo, oldKings, disabled, playerTurn,
+				continueSquare);
+	}
+
+	/**
+	 * Disables all squares of the given mask.
+	 *
+	 * @param mask
+	 */
+	public void disable(int mask) {
+		int oldDisabled = disabled;
+		disabled |= mask;
+		updateKey(playerOne, playerTwo, kings, oldDisabled, playerTurn,
+				continueSquare);
+	}
+
+	/**
+	 * Applies the given move for the current player, and returns a packed
+	 * undo record for unmakeMove. Jumped pieces are removed, and if the moved
+	 * piece can jump again it must continue the jump-series. Any men on their
+	 * far edge are then kinged, which ends a jump-series. The turn rotates
+	 * once no jump-series continues, unless a player has run out of pieces.
+	 * In Reverse game type, the outer ring is disabled once it is empty.
+	 * 
+	 * A move that captures more than one piece is a whole jump-series, as
+	 * found by MoveGenerator.generatePaths. Only the moved piece can be
+	 * kinged, which ends the jump-series, so it is made at once, except in
+	 * Reverse game type, where a ring may be disabled after any jump and it
+	 * is made one jump at a time.
+	 *
+	 * @param move
+	 * @param gameType
+	 * @return
+	 */
+	public long makeMove(long move, GameType gameType) {
+		long undo = (kings & 0xFFFFFFFFL)
+				| ((long) getRingOffset() << UNDO_RING_SHIFT)
+				| ((long) (playerTurn - 1) << UNDO_TURN_SHIFT)
+				| ((long) (continueSquare + 1) << UNDO_CONTINUE_SHIFT);
+		int dest = Move.getDest(move);
+		int captured = Move.getCaptured(move);
+		int oldPlayerOne = playerOne;
+		int oldPlayerTwo = playerTwo;
+		int oldKings = kings;
+		int oldDisabled = disabled;
+		int oldTurn = playerTurn;
+		int oldContinue = continueSquare;
+		if (gameType == GameType.REVERSE && Integer.bitCount(captured) > 1) {
+			// The key is updated once, for the whole jump-series.
+			boolean wasKeyed = keyed;
+			keyed = false;
+			boolean found = makeJumps(Move.getSrc(move), captured, dest,
+					gameType, null);
+			keyed = wasKeyed;
+			if (!found) {
+				throw new IllegalArgumentException("Not a jump-series: "
+						+ Move.toString(move));
+			}
+			updateKey(oldPlayerOne, oldPlayerTwo, oldKings, oldDisabled,
+					oldTurn, oldContinue);
+			return undo;
+		}
+		shiftPiece(Move.getSrc(move), dest);
+		playerOne &= ~captured;
+		playerTwo &= ~captured;
+		kings &= ~captured;
+
+		// A jump continues if the moved piece can jump again.
+		int cont = -1;
+		if (captured != 0
+				&& MoveGenerator.canJump(this, playerTurn, dest)) {
+			cont = dest;
+		}
+		boolean rotateTurns = cont < 0;
+		boolean kinged = kingPieces();
+		continueSquare = cont;
+		// Nothing else changes once the game is over.
+		if (playerOne != 0 && playerTwo != 0) {
+			// If a king has been made, do not allow a multi-jump to continue.
+			if (kinged) {
+				continueSquare = -1;
+			}
+			if (continueSquare < 0 && rotateTurns) {
+				playerTurn = 3 - playerTurn;
+			}
+			if (gameType == GameType.REVERSE) {
+				collapseRing();
+			}
+		}
+		updateKey(oldPlayerOne, oldPlayerTwo, oldKings, oldDisabled, oldTurn,
+				oldContinue);
+		return undo;
+	}
+
+	/**
+	 * Get and return the single jumps of the given move, in the order they
+	 * are made, into the given list. A move that is not a jump-series is its
+	 * own single move. The position is not changed.
+	 *
+	 * @param move
+	 * @param gameType
+	 * @param jumps
+	 */
+	public void getJumps(long move, GameType gameType, MoveList jumps) {
+		jumps.clear();
+		int captured = Move.getCaptured(move);
+		if (Integer.bitCount(captured) <= 1) {
+			jumps.add(move);
+			return;
+		}
+		if (!copy().makeJumps(Move.getSrc(move), captured, Move.getDest(move),
+				gameType, jumps)) {
+			throw new IllegalArgumentException("Not a jump-series: "
+					+ Move.toString(move));
+		}
+		// Jumps are found last first.
+		for (int i = 0, j = jumps.size() - 1; i < j; i++, j--) {
+			long jump = jumps.get(i);
+			jumps.set(i, jumps.get(j));
+			jumps.set(j, jump);
+		}
+	}
+
+	/**
+	 * Makes single jumps from the given square, capturing exactly the given
+	 * pieces and ending the jump-series on the given destination square.
+	 * Returns true, with the jumps made, if such jumps exist, otherwise the
+	 * position is unchanged. The jumps made are added, last first, to the
+	 * given list if it is not null.
+	 *
+	 * @param square
+	 * @param captured
+	 * @param dest
+	 * @param gameType
+	 * @param jumps
+	 * @return
+	 */
+	private boolean makeJumps(int square, int captured, int dest,
+			GameType gameType, MoveList jumps) {
+		int player = playerTurn;
+		boolean king = isKing(square);
+		int[] directions = MoveGenerator.getDirections(player, king);
+		for (int i = 0; i < directions.length; i++) {
+			int over = MoveGenerator.getStepMask(square, directions[i])
+					& captured;
+			int land = MoveGenerator.getJumpMask(square, directions[i])
+					& getEmpty();
+			if (over == 0 || land == 0) {
+				continue;
+			}
+			int next = MoveGenerator.getJumpSquare(square, directions[i]);
+			long jump = Move.encode(square, next, over, !king
+					&& (land & MoveGenerator.getPromotionRow(this, player)) != 0);
+			long undo = makeMove(jump, gameType);
+			int left = captured & ~over;
+			boolean found;
+			if (left == 0) {
+				found = next == dest && continueSquare < 0;
+			} else {
+				found = continueSquare == next
+						&& makeJumps(next, left, dest, gameType, jumps);
+			}
+			if (found) {
+				if (jumps != null) {
+					jumps.add(jump);
+				}
+				return true;
+			}
+			unmakeMove(jump, undo);
+		}
+		return false;
+	}
+
+	/**
+	 * Reverts the given move, which must be the last move applied, using the
+	 * undo record makeMove returned for it.
+	 *
+	 * @param move
+	 * @param undo
+	 */
+	public void unmakeMove(long move, long undo) {
+		int oldPlayerOne = playerOne;
+		int oldPlayerTwo = playerTwo;
+		int oldKings = kings;
+		int oldDisabled = disabled;
+		int oldTurn = playerTurn;
+		int oldContinue = continueSquare;
+		playerTurn = (int) (undo >>> UNDO_TURN_SHIFT & 1) + 1;
+		continueSquare = (int) (undo >>> UNDO_CONTINUE_SHIFT & 0x3F) - 1;
+		int ring = (int) (undo >>> UNDO_RING_SHIFT & 3);
+		int src = Move.getSrc(move);
+		int dest = Move.getDest(move);
+		int moved = src == dest ? 0 : (1 << src) | (1 << dest);
+		if (playerTurn == BlockOccupant.PLAYER.getValue()) {
+			playerOne ^= moved;
+			playerTwo |= Move.getCaptured(move);
+		} else {
+			playerTwo ^= moved;
+			playerOne |= Move.getCaptured(move);
+		}
+		kings = (int) undo;
+		disabled = 0;
+		for (int i = 0; i < ring; i++) {
+			disabled |= RING_MASKS[i];
+		}
+		updateKey(oldPlayerOne, oldPlayerTwo, oldKings, oldDisabled, oldTurn,
+				oldContinue);
+	}
+
+	/**
+	 * Updates the key and the piece counts from the given previous state to
+	 * the current state. Only the squares that have changed are applied.
+	 *
+	 * @param oldPlayerOne
+	 * @param oldPlayerTwo
+	 * @param oldKings
+	 * @param oldDisabled
+	 * @param oldTurn
+	 * @param oldContinue
+	 */
+	private void updateKey(int oldPlayerOne, int oldPlayerTwo, int oldKings,
+			int oldDisabled, int oldTurn, int oldContinue) {
+		if (!keyed) {
+			return;
+		}
+		int changed = (oldPlayerOne ^ playerOne) | (oldPlayerTwo ^ playerTwo)
+				| (oldKings ^ kings);
+		if (changed != 0) {
+			key ^= Zobrist.getPieceKeys(oldPlayerOne, oldPlayerTwo, oldKings,
+					changed)
+					^ Zobrist.getPieceKeys(playerOne, playerTwo, kings, changed);
+			updateCounts(oldPlayerOne, oldPlayerTwo, oldKings, changed);
+		}
+		key ^= Zobrist.getDisabledKeys(oldDisabled ^ disabled);
+		key ^= Zobrist.getTurnKey(oldTurn) ^ Zobrist.getTurnKey(playerTurn);
+		key ^= Zobrist.getContinueKey(oldContinue)
+				^ Zobrist.getContinueKey(continueSquare);
+		if (verifyKeys && key != Zobrist.getKey(this)) {
+			throw new IllegalStateException("Position key " + key
+					+ " does not match computed key " + Zobrist.getKey(this)
+					+ this.toString());
+		}
+		if (verifyKeys && !isCountsValid()) {
+			throw new IllegalStateException("Position piece counts "
+					+ menOne + "/" + kingsOne + ", " + menTwo + "/" + kingsTwo
+					+ " do not match the board" + this.toString());
+		}
+	}
+
+	/**
+	 * Get and return if the piece counts match the counts of the masks.
+	 *
+	 * @return
+	 */
+	private boolean isCountsValid() {
+		return kingsOne == Integer.bitCount(playerOne & kings)
+				&& menOne == Integer.bitCount(playerOne & ~kings)
+				&& kingsTwo == Integer.bitCount(playerTwo & kings)
+				&& menTwo == Integer.bitCount(playerTwo & ~kings);
+	}
+
+	/**
+	 * Updates the piece counts from the given previous masks to the current
+	 * masks, over the given changed squares only.
+	 *
+	 * @param oldPlayerOne
+	 * @param oldPlayerTwo
+	 * @param oldKings
+	 * @param changed
+	 */
+	private void updateCounts(int oldPlayerOne, int oldPlayerTwo,
+			int oldKings, int changed) {
+		int newKings = kings & changed;
+		int newMen = ~kings & changed;
+		oldKings &= changed;
+		int oldMen = ~oldKings & changed;
+		kingsOne += Integer.bitCount(playerOne & newKings)
+				- Integer.bitCount(oldPlayerOne & oldKings);
+		menOne += Integer.bitCount(playerOne & newMen)
+				- Integer.bitCount(oldPlayerOne & oldMen);
+		kingsTwo += Integer.bitCount(playerTwo & newKings)
+				- Integer.bitCount(oldPlayerTwo & oldKings);
+		menTwo += Integer.bitCount(playerTwo & newMen)
+				- Integer.bitCount(oldPlayerTwo & oldMen);
+	}
+
+	/**
+	 * Kings every man on its far edge of the board, moved inwards by any
+	 * disabled rings. Returns true if a piece was kinged.
+	 *
+	 * @return
+	 */
+	private boolean kingPieces() {
+		int promoted = ((playerOne & MoveGenerator.getPromotionRow(this,
+				BlockOccupant.PLAYER.getValue())) | (playerTwo & MoveGenerator
+				.getPromotionRow(this, BlockOccupant.PLAYER2.getValue())))
+				& ~kings;
+		kings |= promoted;
+		return promoted != 0;
+	}
+
+	/**
+	 * Disables the outer-most enabled ring if no piece is on it, until the
+	 * board is 4 x 4.
+	 */
+	private void collapseRing() {
+		int offset = getRingOffset();
+		// Minimum size is 4 x 4
+		if (SIZE - 2 * offset - 1 < 4) {
+			return;
+		}
+		if (((playerOne | playerTwo) & RING_MASKS[offset]) == 0) {
+			disabled |= RING_MASKS[offset];
+		}
+	}
+
+	/**
+	 * Creates and returns a copy of the position.
+	 *
+	 * @return
+	 */
+	public Position copy() {
+		Position copy = new Position(playerOne, playerTwo, kings, disabled);
+		copy.playerTurn = playerTurn;
+		copy.continueSquare = continueSquare;
+		copy.key = key;
+		return copy;
+	}
+
+	/**
+	 * Builds the playable square masks of each ring.
+	 *
+	 * @return
+	 */
+	private static int[] buildRingMasks() {
+		int[] rings = new int[SIZE / 2];
+		for (int square = 0; square < SQUARES; square++) {
+			int x = getGridX(square);
+			int y = getGridY(square);
+			int ring = Math.min(Math.min(x, y),
+					Math.min(SIZE - 1 - x, SIZE - 1 - y));
+			rings[ring] |= 1 << square;
+		}
+		return rings;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (key ^ (key >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Position)) {
+			return false;
+		}
+		Position other = (Position) obj;
+		return key == other.key && playerOne == other.playerOne
+				&& playerTwo == other.playerTwo && kings == other.kings
+				&& disabled == other.disabled
+				&& playerTurn == other.playerTurn
+				&& continueSquare == other.continueSquare;
+	}
+
+	@Override
+	public String toString() {
+		String str = "";
+		for (int y = 0; y < SIZE; y++) {
+			str += "\n";
+			for (int x = 0; x < SIZE; x++) {
+				str += getOccupant(x, y).getStringValue() + " ";
+			}
+		}
+		return str;
+	}
+}
@@ -0,0 +1,146 @@
+package com.timothysinard.Checkers.core;
+
+/**
+ * Rules of a game type, over a Position alone. Finds the moves of the player
+ * to move, makes and unmakes them, and decides the winner, without a board,
+ * a game, or any drawing, so games can be played headless. A Rules keeps its
+ * own MoveGenerator and is not thread-safe; each thread should use its own.
+ */
+public class Rules {
+
+	// Game type the rules are of
+	private final GameType gameType;
+	// Must a jump be made when one exists?
+	private final boolean forceJumps;
+	// Generator of the moves
+	private final MoveGenerator moveGenerator;
+	// Reusable list of the moves found while deciding the winner
+	private final MoveList moves;
+
+	public Rules(GameType gameType, boolean forceJumps) {
+		this.gameType = gameType;
+		this.forceJumps = forceJumps;
+		this.moveGenerator = new MoveGenerator();
+		this.moves = new MoveList();
+	}
+
+	/**
+	 * Get game type the rules are of
+	 *
+	 * @return
+	 */
+	public GameType getGameType() {
+		return gameType;
+	}
+
+	/**
+	 * Get if a jump must be made when one exists
+	 *
+	 * @return
+	 */
+	public boolean isForceJumps() {
+		return forceJumps;
+	}
+
+	/**
+	 * Writes the moves of the player to move in the given position to the
+	 * given list, with each jump as its own move. If a jump-series continues,
+	 * only the jumps of its piece are written.
+	 *
+	 * @param position
+	 * @param moves
+	 */
+	public void getMoves(Position position, MoveList moves) {
+		moveGenerator.generate(position, position.getPlayerTurn(),
+				position.getContinueSquare(), forceJumps, moves);
+	}
+
+	/**
+	 * Writes the moves of the player to move in the given position to the
+	 * given list, with each whole jump-series as a single move.
+	 *
+	 * @param position
+	 * @param moves
+	 */
+	public void getPaths(Position position, MoveList moves) {
+		moveGenerator.generatePaths(position, gameType, forceJumps, moves);
+	}
+
+	/**
+	 * Makes the given move in the given position, and returns the undo record
+	 * to unmake it with.
+	 *
+	 * @param position
+	 * @param move
+	 * @return
+	 */
+	public long makeMove(Position position, long move) {
+		return position.makeMove(move, gameType);
+	}
+
+	/**
+	 * Unmakes the given move, which must be the last move made in the given
+	 * position, using the undo record makeMove returned for it.
+	 *
+	 * @param position
+	 * @param move
+	 * @param undo
+	 */
+	public void unmakeMove(Position position, long move, long undo) {
+		position.unmakeMove(move, undo);
+	}
+
+	/**
+	 * Get and return the winner of the given position, or null if the game
+	 * continues. A player out of pieces decides the game as in
+	 * getWinnerByPieces, and a player to move with no moves loses.
+	 *
+	 * @param position
+	 * @return
+	 */
+	public BlockOccupant getWinner(Position position) {
+		BlockOccupant winner = getWinnerByPieces(position, gameType);
+		if (winner != null) {
+			return winner;
+		}
+		getPaths(position, moves);
+		if (moves.isEmpty()) {
+			return getOpponent(position.getPlayerTurn());
+		}
+		return null;
+	}
+
+	/**
+	 * Get and return the winner of the given position if a player is out of
+	 * pieces, or null otherwise. The player with pieces left wins, except in
+	 * Reverse game type, where the player out of pieces wins.
+	 *
+	 * @param position
+	 * @param gameType
+	 * @return
+	 */
+	public static BlockOccupant getWinnerByPieces(Position position,
+			GameType gameType) {
+		if (position.getPlayerOne() == 0) {
+			return gameType == GameType.REVERSE ? BlockOccupant.PLAYER
+					: BlockOccupant.PLAYER2;
+		} else if (position.getPlayerTwo() == 0) {
+			return gameType == GameType.REVERSE ? BlockOccupant.PLAYER2
+					: BlockOccupant.PLAYER;
+		}
+		return null;
+	}
+
+	/**
+	 * Get and return the opponent of the given player.
+	 *
+	 * @param player
+	 * @return
+	 */
+	public static BlockOccupant getOpponent(int player) {
+		if (player == BlockOccupant.PLAYER.getValue()) {
+			return BlockOccupant.PLAYER2;
+		}
+		return BlockOccupant.PLAYER;
+	}
+}
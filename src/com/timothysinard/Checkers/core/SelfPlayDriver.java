@@ -0,0 +1,378 @@
+package com.timothysinard.Checkers.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.timothysinard.Checkers.core.engine.EngineSettings;
+import com.timothysinard.Checkers.core.engine.GameClock;
+import com.timothysinard.Checkers.core.engine.SearchEngine;
+import com.timothysinard.Checkers.core.engine.SearchLimits;
+import com.timothysinard.Checkers.utils.FileIO;
+import com.timothysinard.Checkers.utils.Timer;
+
+/**
+ * Headless driver that plays engine against engine, for tuning and testing
+ * the AI. No part of the GUI, themes or sounds is loaded. Games are played on
+ * positions by the search engine alone, one game at a time on each worker
+ * thread, and each engine searches with a single thread.
+ *
+ * Games are spread across the rules the game can be played by: Regular with
+ * and without Force Jumps, and Reverse. Each game opens with a few random
+ * moves, and each opening is played twice, with the two engines swapping
+ * sides. A game is drawn once the move limit is reached. The result and
+ * timing of each game are written to the output file, one tab-separated line
+ * per game, and the totals of each rule set are printed.
+ *
+ * Arguments, all optional: "-games count", "-threads count", "-a level" and
+ * "-b level" for the GameOpponent level of each engine, "-clock ms" and
+ * "-increment ms" for a game clock, "-table megabytes", "-openings moves",
+ * "-plies limit", "-seed seed" and "-out file".
+ */
+public class SelfPlayDriver {
+
+	// Game type and Force Jump setting of each rule set played
+	private static final GameType[] GAME_TYPES = { GameType.REGULAR,
+			GameType.REGULAR, GameType.REVERSE };
+	private static final boolean[] FORCE_JUMPS = { true, false, true };
+	// Results of a game
+	private static final String WIN_A = "A";
+	private static final String WIN_B = "B";
+	private static final String DRAW = "draw";
+
+	// Number of games played
+	private int games;
+	// Number of games played at once
+	private int threads;
+	// Level of each engine
+	private GameOpponent levelA;
+	private GameOpponent levelB;
+	// Total time and increment of each engine's clock, in milliseconds, or 0
+	// for no clock
+	private long clockTime;
+	private long clockIncrement;
+	// Size of each engine's transposition table, in megabytes
+	private int tableMegabytes;
+	// Number of random moves each game opens with
+	private int openingMoves;
+	// Number of moves after which a game is drawn
+	private int maxPlies;
+	// Seed of the random openings
+	private long seed;
+
+	public SelfPlayDriver() {
+		this.games = 1000;
+		this.threads = Runtime.getRuntime().availableProcessors();
+		this.levelA = GameOpponent.AI_MEDIUM;
+		this.levelB = GameOpponent.AI_MEDIUM;
+		this.clockTime = 0;
+		this.clockIncrement = 0;
+		this.tableMegabytes = 8;
+		this.openingMoves = 4;
+		this.maxPlies = 200;
+		this.seed = 1;
+	}
+
+	public static void main(String[] args) {
+		SelfPlayDriver driver = new SelfPlayDriver();
+		String out = "selfplay.txt";
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			if (args[i].equals("-games")) {
+				driver.games = Integer.parseInt(value);
+			} else if (args[i].equals("-threads")) {
+				driver.threads = Math.max(1, Integer.parseInt(value));
+			} else if (args[i].equals("-a")) {
+				driver.levelA = GameOpponent.valueOf(value.toUpperCase());
+			} else if (args[i].equals("-b")) {
+				driver.levelB = GameOpponent.valueOf(value.toUpperCase());
+			} else if (args[i].equals("-clock")) {
+				driver.clockTime = Long.parseLong(value);
+			} else if (args[i].equals("-increment")) {
+				driver.clockIncrement = Long.parseLong(value);
+			} else if (args[i].equals("-table")) {
+				driver.tableMegabytes = Integer.parseInt(value);
+			} else if (args[i].equals("-openings")) {
+				driver.openingMoves = Integer.parseInt(value);
+			} else if (args[i].equals("-plies")) {
+				driver.maxPlies = Integer.parseInt(value);
+			} else if (args[i].equals("-seed")) {
+				driver.seed = Long.parseLong(value);
+			} else if (args[i].equals("-out")) {
+				out = value;
+			} else {
+				throw new IllegalArgumentException("Unknown argument: "
+						+ args[i]);
+			}
+		}
+
+		Timer timer = new Timer();
+		timer.startTimer();
+		GameResult[] results = driver.play();
+		timer.stopTimer();
+		driver.write(results, out);
+		driver.printTotals(results, timer.getElapsedTime());
+	}
+
+	/**
+	 * Plays every game, and returns their results in game order.
+	 *
+	 * @return
+	 */
+	private GameResult[] play() {
+		final GameResult[] results = new GameResult[games];
+		final AtomicInteger next = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Void>> workers = new ArrayList<Future<Void>>();
+			for (int i = 0; i < threads; i++) {
+				workers.add(pool.submit(new Callable<Void>() {
+					public Void call() {
+						// Each worker reuses its engines for all its games.
+						SearchEngine engineA = createEngine(levelA);
+						SearchEngine engineB = createEngine(levelB);
+						int game = next.getAndIncrement();
+						while (game < games) {
+							results[game] = playGame(game, engineA, engineB);
+							game = next.getAndIncrement();
+						}
+						return null;
+					}
+				}));
+			}
+			for (int i = 0; i < workers.size(); i++) {
+				workers.get(i).get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Self-play was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Self-play failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return results;
+	}
+
+	/**
+	 * Creates and returns a single-threaded engine of the given level.
+	 *
+	 * @param level
+	 * @return
+	 */
+	private SearchEngine createEngine(GameOpponent level) {
+		EngineSettings settings = EngineSettings.forOpponent(level);
+		settings.setThreads(1);
+		settings.setTableMegabytes(tableMegabytes);
+		return new SearchEngine(SearchLimits.forOpponent(level), settings);
+	}
+
+	/**
+	 * Plays and returns the result of the given game between the given
+	 * engines. Engine A plays player 1 in even games, and player 2 in odd
+	 * games, with the same opening and rules as the even game before.
+	 *
+	 * @param game
+	 * @param engineA
+	 * @param engineB
+	 * @return
+	 */
+	private GameResult playGame(int game, SearchEngine engineA,
+			SearchEngine engineB) {
+		int ruleSet = (game / 2) % GAME_TYPES.length;
+		GameType gameType = GAME_TYPES[ruleSet];
+		boolean forceJumps = FORCE_JUMPS[ruleSet];
+		boolean swapped = (game & 1) != 0;
+		SearchEngine playerOne = swapped ? engineB : engineA;
+		SearchEngine playerTwo = swapped ? engineA : engineB;
+		// Results of earlier games are not carried over.
+		engineA.getTable().clear();
+		engineB.getTable().clear();
+		if (clockTime > 0) {
+			playerOne.setGameClock(new GameClock(clockTime, clockIncrement));
+			playerTwo.setGameClock(new GameClock(clockTime, clockIncrement));
+		}
+
+		GameResult result = new GameResult(game, gameType, forceJumps,
+				swapped);
+		Random random = new Random(seed + game / 2);
+		Rules rules = new Rules(gameType, forceJumps);
+		MoveList moves = new MoveList();
+		Position position = new Position();
+		Timer timer = new Timer();
+		timer.startTimer();
+		BlockOccupant winner = null;
+		while (result.plies < maxPlies) {
+			int turn = position.getPlayerTurn();
+			winner = Rules.getWinnerByPieces(position, gameType);
+			if (winner != null) {
+				break;
+			}
+			rules.getPaths(position, moves);
+			// If no moves are available, the opposing player wins.
+			if (moves.isEmpty()) {
+				winner = Rules.getOpponent(turn);
+				break;
+			}
+			long move;
+			if (result.plies < openingMoves) {
+				move = moves.get(random.nextInt(moves.size()));
+			} else {
+				SearchEngine engine = playerTwo;
+				if (turn == BlockOccupant.PLAYER.getValue()) {
+					engine = playerOne;
+				}
+				move = engine.findMove(position, gameType, forceJumps);
+				result.addSearch(turn, engine.getNodes(),
+						engine.getElapsedTime());
+				// A player out of time loses.
+				if (engine.getGameClock() != null
+						&& engine.getGameClock().isExpired()) {
+					winner = Rules.getOpponent(turn);
+					result.timeLoss = true;
+					break;
+				}
+			}
+			rules.makeMove(position, move);
+			result.plies++;
+		}
+		timer.stopTimer();
+		result.elapsedTime = timer.getElapsedTime();
+		if (winner == null) {
+			result.result = DRAW;
+		} else if ((winner == BlockOccupant.PLAYER) != swapped) {
+			result.result = WIN_A;
+		} else {
+			result.result = WIN_B;
+		}
+		playerOne.setGameClock(null);
+		playerTwo.setGameClock(null);
+		return result;
+	}
+
+	/**
+	 * Writes a line of the given results per game to the given file.
+	 *
+	 * @param results
+	 * @param fileName
+	 */
+	private void write(GameResult[] results, String fileName) {
+		FileIO file = new FileIO(fileName, FileIO.FOR_WRITING);
+		file.writeLine("game\ttype\tforceJumps\tplayerOne\tplayerTwo\tresult"
+				+ "\ttimeLoss\tplies\tms\tnodesOne\tnodesTwo\tsearchMsOne"
+				+ "\tsearchMsTwo");
+		for (int i = 0; i < results.length; i++) {
+			file.writeLine(results[i].toString());
+		}
+		file.close();
+	}
+
+	/**
+	 * Prints the wins, losses and draws of each rule set, and the games
+	 * played per second.
+	 *
+	 * @param results
+	 * @param elapsedTime
+	 */
+	private void printTotals(GameResult[] results, long elapsedTime) {
+		System.out.println("A: " + levelA + ", B: " + levelB + ", " + games
+				+ " games, " + threads + " threads");
+		for (int rules = 0; rules < GAME_TYPES.length; rules++) {
+			int winsA = 0;
+			int winsB = 0;
+			int draws = 0;
+			for (int i = 0; i < results.length; i++) {
+				GameResult result = results[i];
+				if (result.gameType != GAME_TYPES[rules]
+						|| result.forceJumps != FORCE_JUMPS[rules]) {
+					continue;
+				}
+				if (result.result.equals(WIN_A)) {
+					winsA++;
+				} else if (result.result.equals(WIN_B)) {
+					winsB++;
+				} else {
+					draws++;
+				}
+			}
+			System.out.println(GAME_TYPES[rules] + ", force jumps "
+					+ (FORCE_JUMPS[rules] ? "on" : "off") + ": A " + winsA
+					+ ", B " + winsB + ", draws " + draws);
+		}
+		double seconds = elapsedTime / 1e9;
+		System.out.println(String.format("%.1f s, %.2f games/s", seconds,
+				seconds > 0 ? results.length / seconds : 0));
+	}
+
+	/**
+	 * Result and timing of a single game.
+	 */
+	private static class GameResult {
+
+		// Index of the game
+		private final int game;
+		// Rules the game was played by
+		private final GameType gameType;
+		private final boolean forceJumps;
+		// Did engine B play player 1?
+		private final boolean swapped;
+		// Winning engine, or a draw
+		private String result;
+		// Was the game lost on time?
+		private boolean timeLoss;
+		// Number of moves made
+		private int plies;
+		// Time taken by the game, in nanoseconds
+		private long elapsedTime;
+		// Positions searched, and time searching in nanoseconds, by each
+		// player
+		private final long[] nodes;
+		private final long[] searchTime;
+
+		GameResult(int game, GameType gameType, boolean forceJumps,
+				boolean swapped) {
+			this.game = game;
+			this.gameType = gameType;
+			this.forceJumps = forceJumps;
+			this.swapped = swapped;
+			this.result = DRAW;
+			this.timeLoss = false;
+			this.plies = 0;
+			this.elapsedTime = 0;
+			this.nodes = new long[2];
+			this.searchTime = new long[2];
+		}
+
+		/**
+		 * Adds a search of the given player, of the given positions and
+		 * time in nanoseconds.
+		 *
+		 * @param player
+		 * @param searchNodes
+		 * @param time
+		 */
+		void addSearch(int player, long searchNodes, long time) {
+			nodes[player - 1] += searchNodes;
+			searchTime[player - 1] += time;
+		}
+
+		/**
+		 * Returns the result as a tab-separated line.
+		 */
+		@Override
+		public String toString() {
+			return game + "\t" + gameType + "\t" + forceJumps + "\t"
+					+ (swapped ? "B" : "A") + "\t" + (swapped ? "A" : "B")
+					+ "\t" + result + "\t" + timeLoss + "\t" + plies + "\t"
+					+ elapsedTime / 1000000L + "\t" + nodes[0] + "\t"
+					+ nodes[1] + "\t" + searchTime[0] / 1000000L + "\t"
+					+ searchTime[1] / 1000000L;
+		}
+	}
+}
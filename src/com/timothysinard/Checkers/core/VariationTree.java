@@ -0,0 +1,339 @@
+package com.timothysinard.Checkers.core;
+
+import java.util.Arrays;
+
+/**
+ * Store of the lines played in a game and all of their side lines. Each
+ * position reached is a node, hash-consed by its Zobrist key, so lines that
+ * share a prefix share its nodes, and lines that transpose into the same
+ * position share that node and every line after it. The moves from a node
+ * are edges holding only the packed move and the node it leads to. Memory
+ * therefore grows with the number of unique positions and moves, not with
+ * the moves played across all lines.
+ *
+ * As a node can be reached by several lines, the line being followed is kept
+ * as a path of nodes from the root. Playing a move follows or adds an edge
+ * from the current node, and moving to the parent returns along the path.
+ * Nodes, edges and the key table are primitive arrays, so nothing is
+ * allocated per node.
+ */
+public class VariationTree {
+
+	// Number of nodes and edges stored before growing
+	private static final int DEFAULT_CAPACITY = 256;
+	// No node or edge
+	private static final int NONE = -1;
+
+	// Zobrist key of the position of each node
+	private long[] nodeKeys;
+	// First edge from each node, NONE if none
+	private int[] firstEdges;
+	// Number of nodes stored
+	private int nodeCount;
+	// Packed move of each edge
+	private long[] edgeMoves;
+	// Node each edge leads to
+	private int[] edgeTargets;
+	// Next edge from the same node, NONE if last
+	private int[] nextEdges;
+	// Number of edges stored
+	private int edgeCount;
+	// Open-addressed table of node indices by key, NONE if empty
+	private int[] table;
+	// Nodes of the line being followed, from the root
+	private int[] path;
+	// Number of nodes of the path
+	private int pathSize;
+
+	/**
+	 * Creates a tree whose storage is set by copy().
+	 */
+	private VariationTree() {
+	}
+
+	/**
+	 * Creates a tree holding only the given root position.
+	 *
+	 * @param root
+	 */
+	public VariationTree(Position root) {
+		this.nodeKeys = new long[DEFAULT_CAPACITY];
+		this.firstEdges = new int[DEFAULT_CAPACITY];
+		this.edgeMoves = new long[DEFAULT_CAPACITY];
+		this.edgeTargets = new int[DEFAULT_CAPACITY];
+		this.nextEdges = new int[DEFAULT_CAPACITY];
+		this.table = new int[DEFAULT_CAPACITY * 2];
+		this.path = new int[DEFAULT_CAPACITY];
+		clear(root);
+	}
+
+	/**
+	 * Removes every node and line, leaving only the given root position.
+	 *
+	 * @param root
+	 */
+	void clear(Position root) {
+		nodeCount = 0;
+		edgeCount = 0;
+		Arrays.fill(table, NONE);
+		path[0] = addNode(root.getKey());
+		pathSize = 1;
+	}
+
+	/**
+	 * Plays the given move from the current node, reaching the given
+	 * position. The edge of the move is followed if it exists, otherwise it is
+	 * added, leading to the node of the position if already stored, or to a
+	 * new node. Returns the node reached, which becomes the current node.
+	 *
+	 * @param move
+	 * @param position
+	 * @return
+	 */
+	int play(long move, Position position) {
+		int node = getNode();
+		int target = getChild(node, move);
+		if (target == NONE) {
+			target = find(position.getKey());
+			if (target == NONE) {
+				target = addNode(position.getKey());
+			}
+			addEdge(node, move, target);
+		}
+		if (pathSize == path.length) {
+			path = Arrays.copyOf(path, pathSize * 2);
+		}
+		path[pathSize++] = target;
+		return target;
+	}
+
+	/**
+	 * Moves to the parent of the current node along the line being followed.
+	 * Returns false, without moving, if the current node is the root.
+	 *
+	 * @return
+	 */
+	boolean toParent() {
+		if (pathSize <= 1) {
+			return false;
+		}
+		pathSize--;
+		return true;
+	}
+
+	/**
+	 * Get and return the node of the given Zobrist key, or -1 if none.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public int find(long key) {
+		int mask = table.length - 1;
+		int slot = hash(key) & mask;
+		while (table[slot] != NONE) {
+			if (nodeKeys[table[slot]] == key) {
+				return table[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return NONE;
+	}
+
+	/**
+	 * Writes the moves stored from the given node to the given list, most
+	 * recently added first.
+	 *
+	 * @param node
+	 * @param moves
+	 */
+	public void getMoves(int node, MoveList moves) {
+		moves.clear();
+		for (int edge = firstEdges[node]; edge != NONE; edge = nextEdges[edge]) {
+			moves.add(edgeMoves[edge]);
+		}
+	}
+
+	/**
+	 * Get and return the node the given move from the given node leads to, or
+	 * -1 if the move is not stored.
+	 *
+	 * @param node
+	 * @param move
+	 * @return
+	 */
+	public int getChild(int node, long move) {
+		for (int edge = firstEdges[node]; edge != NONE; edge = nextEdges[edge]) {
+			if (edgeMoves[edge] == move) {
+				return edgeTargets[edge];
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * Get the Zobrist key of the position of the given node
+	 *
+	 * @param node
+	 * @return
+	 */
+	public long getKey(int node) {
+		return nodeKeys[node];
+	}
+
+	/**
+	 * Get the current node, the last node of the line being followed
+	 *
+	 * @return
+	 */
+	public int getNode() {
+		return path[pathSize - 1];
+	}
+
+	/**
+	 * Get the root node
+	 *
+	 * @return
+	 */
+	public int getRoot() {
+		return path[0];
+	}
+
+	/**
+	 * Get the node at the given depth of the line being followed, 0 being the
+	 * root
+	 *
+	 * @param depth
+	 * @return
+	 */
+	public int getPathNode(int depth) {
+		return path[depth];
+	}
+
+	/**
+	 * Get the number of moves from the root to the current node
+	 *
+	 * @return
+	 */
+	public int getDepth() {
+		return pathSize - 1;
+	}
+
+	/**
+	 * Get the number of nodes, one per unique position
+	 *
+	 * @return
+	 */
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Get the number of edges, one per unique move from a position
+	 *
+	 * @return
+	 */
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * Creates and returns a copy of the tree, following the same line.
+	 *
+	 * @return
+	 */
+	public VariationTree copy() {
+		VariationTree copy = new VariationTree();
+		copy.nodeKeys = Arrays.copyOf(nodeKeys, nodeKeys.length);
+		copy.firstEdges = Arrays.copyOf(firstEdges, firstEdges.length);
+		copy.nodeCount = nodeCount;
+		copy.edgeMoves = Arrays.copyOf(edgeMoves, edgeMoves.length);
+		copy.edgeTargets = Arrays.copyOf(edgeTargets, edgeTargets.length);
+		copy.nextEdges = Arrays.copyOf(nextEdges, nextEdges.length);
+		copy.edgeCount = edgeCount;
+		copy.table = Arrays.copyOf(table, table.length);
+		copy.path = Arrays.copyOf(path, path.length);
+		copy.pathSize = pathSize;
+		return copy;
+	}
+
+	/**
+	 * Adds a node of the given key, and returns its index.
+	 *
+	 * @param key
+	 * @return
+	 */
+	private int addNode(long key) {
+		if (nodeCount == nodeKeys.length) {
+			nodeKeys = Arrays.copyOf(nodeKeys, nodeCount * 2);
+			firstEdges = Arrays.copyOf(firstEdges, nodeCount * 2);
+		}
+		int node = nodeCount++;
+		nodeKeys[node] = key;
+		firstEdges[node] = NONE;
+		// Keep the table at most half full.
+		if (nodeCount * 2 > table.length) {
+			rehash(table.length * 2);
+		} else {
+			insert(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Adds an edge of the given move from the given node to the given target
+	 * node, as the first edge of the node.
+	 *
+	 * @param node
+	 * @param move
+	 * @param target
+	 */
+	private void addEdge(int node, long move, int target) {
+		if (edgeCount == edgeMoves.length) {
+			edgeMoves = Arrays.copyOf(edgeMoves, edgeCount * 2);
+			edgeTargets = Arrays.copyOf(edgeTargets, edgeCount * 2);
+			nextEdges = Arrays.copyOf(nextEdges, edgeCount * 2);
+		}
+		int edge = edgeCount++;
+		edgeMoves[edge] = move;
+		edgeTargets[edge] = target;
+		nextEdges[edge] = firstEdges[node];
+		firstEdges[node] = edge;
+	}
+
+	/**
+	 * Inserts the given node into the key table.
+	 *
+	 * @param node
+	 */
+	private void insert(int node) {
+		int mask = table.length - 1;
+		int slot = hash(nodeKeys[node]) & mask;
+		while (table[slot] != NONE) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = node;
+	}
+
+	/**
+	 * Rebuilds the key table at the given size, a power of two.
+	 *
+	 * @param size
+	 */
+	private void rehash(int size) {
+		table = new int[size];
+		Arrays.fill(table, NONE);
+		for (int node = 0; node < nodeCount; node++) {
+			insert(node);
+		}
+	}
+
+	/**
+	 * Get and return the table hash of the given key.
+	 *
+	 * @param key
+	 * @return
+	 */
+	private static int hash(long key) {
+		return (int) (key ^ (key >>> 32));
+	}
+}
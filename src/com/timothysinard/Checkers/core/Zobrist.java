@@ -0,0 +1,119 @@
+package com.timothysinard.Checkers.core;
+
+import java.util.Random;
+
+/**
+ * Random keys used to hash a Position into a 64-bit Zobrist key. The key of a
+ * position is the XOR of the key of each piece on its square, the key of each
+ * disabled square, the turn key when it is player 2's turn, and the key of
+ * any square that must continue a jump-series. Any change to a position can
+ * be applied to its key by XOR-ing out the old keys and in the new keys.
+ */
+public final class Zobrist {
+
+	// Fixed seed, so keys are the same for every run
+	private static final long SEED = 0x2F6A3C1D5B7E9041L;
+	// Keys of each piece type on each square: player 1 man, player 1 king,
+	// player 2 man, player 2 king
+	private static final long[][] PIECE_KEYS = new long[4][Position.SQUARES];
+	// Keys of each disabled square
+	private static final long[] DISABLED_KEYS = new long[Position.SQUARES];
+	// Keys of each square continuing a jump-series
+	private static final long[] CONTINUE_KEYS = new long[Position.SQUARES];
+	// Key of player 2's turn
+	private static final long TURN_KEY;
+
+	static {
+		Random random = new Random(SEED);
+		for (int type = 0; type < PIECE_KEYS.length; type++) {
+			for (int square = 0; square < Position.SQUARES; square++) {
+				PIECE_KEYS[type][square] = random.nextLong();
+			}
+		}
+		for (int square = 0; square < Position.SQUARES; square++) {
+			DISABLED_KEYS[square] = random.nextLong();
+			CONTINUE_KEYS[square] = random.nextLong();
+		}
+		TURN_KEY = random.nextLong();
+	}
+
+	private Zobrist() {
+	}
+
+	/**
+	 * Computes and returns the key of the given position from scratch.
+	 *
+	 * @param position
+	 * @return
+	 */
+	public static long getKey(Position position) {
+		return getPieceKeys(position.getPlayerOne(), position.getPlayerTwo(),
+				position.getKings(), -1)
+				^ getDisabledKeys(position.getDisabled())
+				^ getTurnKey(position.getPlayerTurn())
+				^ getContinueKey(position.getContinueSquare());
+	}
+
+	/**
+	 * Get and return the XOR of the keys of the pieces on the squares of the
+	 * given mask, as described by the given player and king masks.
+	 *
+	 * @param playerOne
+	 * @param playerTwo
+	 * @param kings
+	 * @param mask
+	 * @return
+	 */
+	public static long getPieceKeys(int playerOne, int playerTwo, int kings,
+			int mask) {
+		long key = 0;
+		int pieces = (playerOne | playerTwo) & mask;
+		while (pieces != 0) {
+			int square = Integer.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			int type = (playerOne & (1 << square)) != 0 ? 0 : 2;
+			if ((kings & (1 << square)) != 0) {
+				type++;
+			}
+			key ^= PIECE_KEYS[type][square];
+		}
+		return key;
+	}
+
+	/**
+	 * Get and return the XOR of the keys of the disabled squares of the given
+	 * mask.
+	 *
+	 * @param disabled
+	 * @return
+	 */
+	public static long getDisabledKeys(int disabled) {
+		long key = 0;
+		while (disabled != 0) {
+			key ^= DISABLED_KEYS[Integer.numberOfTrailingZeros(disabled)];
+			disabled &= disabled - 1;
+		}
+		return key;
+	}
+
+	/**
+	 * Get and return the key of the given player turn.
+	 *
+	 * @param playerTurn
+	 * @return
+	 */
+	public static long getTurnKey(int playerTurn) {
+		return playerTurn == BlockOccupant.PLAYER2.getValue() ? TURN_KEY : 0;
+	}
+
+	/**
+	 * Get and return the key of the given square continuing a jump-series, or
+	 * 0 if the square is -1.
+	 *
+	 * @param square
+	 * @return
+	 */
+	public static long getContinueKey(int square) {
+		return square < 0 ? 0 : CONTINUE_KEYS[square];
+	}
+}
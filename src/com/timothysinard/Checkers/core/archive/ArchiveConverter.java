@@ -0,0 +1,47 @@
+package com.timothysinard.Checkers.core.archive;
+
+import com.timothysinard.Checkers.core.pdn.PdnGame;
+import com.timothysinard.Checkers.core.pdn.PdnReader;
+import com.timothysinard.Checkers.core.pdn.PdnWriter;
+
+/**
+ * Converts between PDN text and binary game archives. Games are converted one
+ * at a time as they are read, so either way runs in constant memory, apart
+ * from the index kept by the archive writer.
+ */
+public final class ArchiveConverter {
+
+	private ArchiveConverter() {
+	}
+
+	/**
+	 * Writes each game read from the given PDN reader to the given archive
+	 * writer, and returns the number of games converted. Tags other than the
+	 * game type and result are not kept.
+	 *
+	 * @param reader
+	 * @param writer
+	 * @return
+	 */
+	public static int toArchive(PdnReader reader, GameArchiveWriter writer) {
+		int count = 0;
+		PdnGame game;
+		while ((game = reader.next()) != null) {
+			writer.write(game);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Writes each game of the given archive to the given PDN writer, in order.
+	 *
+	 * @param archive
+	 * @param writer
+	 */
+	public static void toPdn(GameArchive archive, PdnWriter writer) {
+		for (int i = 0; i < archive.size(); i++) {
+			writer.write(archive.toPdn(i));
+		}
+	}
+}
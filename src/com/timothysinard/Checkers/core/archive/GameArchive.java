@@ -0,0 +1,333 @@
+package com.timothysinard.Checkers.core.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.timothysinard.Checkers.core.GameType;
+import com.timothysinard.Checkers.core.pdn.PdnGame;
+import com.timothysinard.Checkers.utils.FileIOException;
+
+/**
+ * Memory-mapped reader of a binary game archive, as written by
+ * GameArchiveWriter. The archive is a header, the records of the games, and
+ * an index of the offset of each record. The header holds a magic number, the
+ * format version, the log2 of the segment size, the number of games, the
+ * offset of the index and the number of moves of all games. Each record holds
+ * a result code, a game type, the number of moves, and the moves, packed as in
+ * PdnMove. All values are little-endian, and records and the index are aligned
+ * to 8 bytes.
+ *
+ * The file is mapped in segments, as a single mapping is limited to 2GB, and
+ * no record crosses a segment boundary. Any game is found through the index
+ * in constant time, and its moves are read in place from the mapped file, so
+ * nothing is copied or allocated to scan the archive.
+ */
+public class GameArchive implements Closeable {
+
+	// Magic number of an archive, "CKGA"
+	public static final int MAGIC = 0x41474B43;
+	// Version of the format
+	public static final int VERSION = 1;
+	// Size, in bytes, of the header, and of the start of each record
+	public static final int HEADER_SIZE = 32;
+	public static final int RECORD_HEADER_SIZE = 8;
+	// Log2 of the default segment size
+	public static final int SEGMENT_SHIFT = 30;
+	// Result codes
+	public static final int RESULT_UNKNOWN = 0;
+	public static final int RESULT_PLAYER_WINS = 1;
+	public static final int RESULT_PLAYER2_WINS = 2;
+	public static final int RESULT_DRAW = 3;
+
+	// Channel the archive is mapped from
+	private final FileChannel channel;
+	// Mapped segments of the file
+	private final MappedByteBuffer[] segments;
+	// Log2 of the size of a segment
+	private final int segmentShift;
+	// Mask of the offset within a segment
+	private final long segmentMask;
+	// Number of games
+	private final int size;
+	// Offset of the index
+	private final long indexOffset;
+	// Number of moves of all games
+	private final long moveCount;
+
+	public GameArchive(FileChannel channel) {
+		this.channel = channel;
+		try {
+			long length = channel.size();
+			if (length < HEADER_SIZE) {
+				throw new FileIOException("Not a game archive");
+			}
+			MappedByteBuffer header = channel.map(
+					FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			if (header.getInt(0) != MAGIC) {
+				throw new FileIOException("Not a game archive");
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new FileIOException("Unsupported game archive version: "
+						+ header.getInt(4));
+			}
+			this.segmentShift = header.getInt(8);
+			if (segmentShift < 6 || segmentShift > SEGMENT_SHIFT) {
+				throw new FileIOException("Invalid segment size: "
+						+ segmentShift);
+			}
+			this.segmentMask = (1L << segmentShift) - 1;
+			this.size = header.getInt(12);
+			this.indexOffset = header.getLong(16);
+			this.moveCount = header.getLong(24);
+			if (size < 0 || indexOffset < HEADER_SIZE
+					|| indexOffset + (long) size * 8 > length) {
+				throw new FileIOException("Corrupt game archive header");
+			}
+			int count = (int) ((length + segmentMask) >>> segmentShift);
+			this.segments = new MappedByteBuffer[count];
+			for (int i = 0; i < count; i++) {
+				long start = (long) i << segmentShift;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+						start, Math.min(segmentMask + 1, length - start));
+				segments[i].order(ByteOrder.LITTLE_ENDIAN);
+			}
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+	}
+
+	/**
+	 * Get the number of games
+	 *
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Get the number of moves of all games
+	 *
+	 * @return
+	 */
+	public long getMoveCount() {
+		return moveCount;
+	}
+
+	/**
+	 * Get the offset in the file of the record of the given game. The start
+	 * of the record is checked to lie within a segment, before the index.
+	 *
+	 * @param game
+	 * @return
+	 */
+	public long getOffset(int game) {
+		if (game < 0 || game >= size) {
+			throw new IndexOutOfBoundsException("Game " + game + " of "
+					+ size);
+		}
+		long entry = indexOffset + (long) game * 8;
+		checkBounds(entry, 8);
+		long offset = getSegment(entry).getLong((int) (entry & segmentMask));
+		if (offset < HEADER_SIZE || offset + RECORD_HEADER_SIZE > indexOffset) {
+			throw new FileIOException("Corrupt game archive");
+		}
+		checkBounds(offset, RECORD_HEADER_SIZE);
+		return offset;
+	}
+
+	/**
+	 * Get the result code of the given game
+	 *
+	 * @param game
+	 * @return
+	 */
+	public int getResult(int game) {
+		long offset = getOffset(game);
+		return getSegment(offset).get((int) (offset & segmentMask));
+	}
+
+	/**
+	 * Get and return the game type of the given game, Regular if not known.
+	 *
+	 * @param game
+	 * @return
+	 */
+	public GameType getGameType(int game) {
+		long offset = getOffset(game);
+		int value = getSegment(offset).get((int) (offset & segmentMask) + 1);
+		for (GameType type : GameType.values()) {
+			if (type.getValue() == value) {
+				return type;
+			}
+		}
+		return GameType.REGULAR;
+	}
+
+	/**
+	 * Get the number of moves of the given game
+	 *
+	 * @param game
+	 * @return
+	 */
+	public int getMoveCount(int game) {
+		return getMoveCount(getOffset(game));
+	}
+
+	/**
+	 * Get the packed PDN move at the given index of the given game
+	 *
+	 * @param game
+	 * @param index
+	 * @return
+	 */
+	public long getMove(int game, int index) {
+		long offset = getOffset(game);
+		if (index < 0 || index >= getMoveCount(offset)) {
+			throw new IndexOutOfBoundsException("Move " + index);
+		}
+		return getSegment(offset).getLong((int) (offset & segmentMask)
+				+ RECORD_HEADER_SIZE + index * 8);
+	}
+
+	/**
+	 * Get and return a read-only view of the packed PDN moves of the given
+	 * game, backed by the mapped file.
+	 *
+	 * @param game
+	 * @return
+	 */
+	public LongBuffer getMoves(int game) {
+		long offset = getOffset(game);
+		int count = getMoveCount(offset);
+		int position = (int) (offset & segmentMask);
+		// Views share the mapped bytes, and are not copied.
+		ByteBuffer view = getSegment(offset).duplicate();
+		view.position(position + RECORD_HEADER_SIZE);
+		view.limit(position + RECORD_HEADER_SIZE + count * 8);
+		return view.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer()
+				.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Creates and returns a PDN record of the given game, tagged with its game
+	 * type and result.
+	 *
+	 * @param game
+	 * @return
+	 */
+	public PdnGame toPdn(int game) {
+		PdnGame record = new PdnGame();
+		record.setTag(PdnGame.TAG_GAME_TYPE, PdnGame.ENGLISH_DRAUGHTS);
+		GameType type = getGameType(game);
+		if (type != GameType.REGULAR) {
+			record.setTag(PdnGame.TAG_VARIANT, type.toString());
+		}
+		record.setResult(getResultString(getResult(game)));
+		record.setTag(PdnGame.TAG_RESULT, record.getResult());
+		LongBuffer moves = getMoves(game);
+		while (moves.hasRemaining()) {
+			record.addMove(moves.get());
+		}
+		return record;
+	}
+
+	/**
+	 * Closes the channel. The mapped segments are released once no longer
+	 * referenced.
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+	}
+
+	/**
+	 * Get the number of moves of the record at the given offset, checked to
+	 * lie within its segment, before the index.
+	 *
+	 * @param offset
+	 * @return
+	 */
+	private int getMoveCount(long offset) {
+		int count = getSegment(offset).getInt((int) (offset & segmentMask) + 4);
+		long length = RECORD_HEADER_SIZE + (long) count * 8;
+		if (count < 0 || offset + length > indexOffset) {
+			throw new FileIOException("Corrupt game archive");
+		}
+		checkBounds(offset, length);
+		return count;
+	}
+
+	/**
+	 * Get the mapped segment holding the given offset
+	 *
+	 * @param offset
+	 * @return
+	 */
+	private MappedByteBuffer getSegment(long offset) {
+		return segments[(int) (offset >>> segmentShift)];
+	}
+
+	/**
+	 * Checks that the given number of bytes from the given offset lie within
+	 * a single mapped segment, as written.
+	 *
+	 * @param offset
+	 * @param length
+	 */
+	private void checkBounds(long offset, long length) {
+		if ((offset >>> segmentShift) >= segments.length
+				|| (offset & segmentMask) + length > getSegment(offset)
+						.limit()) {
+			throw new FileIOException("Corrupt game archive");
+		}
+	}
+
+	/**
+	 * Get and return the result code of the given PDN result.
+	 *
+	 * @param result
+	 * @return
+	 */
+	public static int getResultCode(String result) {
+		if (result.equals(PdnGame.RESULT_PLAYER_WINS)
+				|| result.equals("2-0")) {
+			return RESULT_PLAYER_WINS;
+		} else if (result.equals(PdnGame.RESULT_PLAYER2_WINS)
+				|| result.equals("0-2")) {
+			return RESULT_PLAYER2_WINS;
+		} else if (result.equals(PdnGame.RESULT_DRAW) || result.equals("1-1")) {
+			return RESULT_DRAW;
+		}
+		return RESULT_UNKNOWN;
+	}
+
+	/**
+	 * Get and return the PDN result of the given result code.
+	 *
+	 * @param code
+	 * @return
+	 */
+	public static String getResultString(int code) {
+		switch (code) {
+		case RESULT_PLAYER_WINS:
+			return PdnGame.RESULT_PLAYER_WINS;
+		case RESULT_PLAYER2_WINS:
+			return PdnGame.RESULT_PLAYER2_WINS;
+		case RESULT_DRAW:
+			return PdnGame.RESULT_DRAW;
+		default:
+			return PdnGame.RESULT_UNKNOWN;
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.timothysinard.Checkers.core.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import com.timothysinard.Checkers.core.GameType;
+import com.timothysinard.Checkers.core.MoveList;
+import com.timothysinard.Checkers.core.pdn.PdnGame;
+import com.timothysinard.Checkers.utils.FileIOException;
+
+/**
+ * Writes games to a binary game archive, read by GameArchive. Records are
+ * written in order through a buffer of fixed size, and the index of their
+ * offsets, the only state kept per game, is written after them when the
+ * writer is closed, followed by the header at the start of the file. A record
+ * that would cross a segment boundary is moved to the start of the next
+ * segment, so each record is read from a single mapped segment. Anything
+ * already in the file is replaced.
+ */
+public class GameArchiveWriter implements Closeable {
+
+	// Default size, in bytes, of the write buffer
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+	// Channel the archive is written to
+	private final FileChannel channel;
+	// Bytes not yet written to the channel
+	private final ByteBuffer buffer;
+	// Log2 of the size of a segment
+	private final int segmentShift;
+	// Offset of each record written
+	private long[] offsets;
+	// Number of records written
+	private int size;
+	// Number of moves of all records written
+	private long moveCount;
+	// Offset in the file of the next byte written
+	private long position;
+
+	public GameArchiveWriter(FileChannel channel) {
+		this(channel, GameArchive.SEGMENT_SHIFT);
+	}
+
+	GameArchiveWriter(FileChannel channel, int segmentShift) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+		this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+		this.segmentShift = segmentShift;
+		this.offsets = new long[1024];
+		this.size = 0;
+		this.moveCount = 0;
+		this.position = GameArchive.HEADER_SIZE;
+		try {
+			channel.truncate(0);
+			channel.position(GameArchive.HEADER_SIZE);
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+	}
+
+	/**
+	 * Writes a record of the moves and result of the given PDN record. Tags
+	 * other than the game type are not kept.
+	 *
+	 * @param game
+	 */
+	public void write(PdnGame game) {
+		write(game.getMoves(), GameArchive.getResultCode(game.getResult()),
+				game.getGameType());
+	}
+
+	/**
+	 * Writes a record of the given packed PDN moves, result code and game
+	 * type.
+	 *
+	 * @param moves
+	 * @param result
+	 * @param gameType
+	 */
+	public void write(MoveList moves, int result, GameType gameType) {
+		long length = GameArchive.RECORD_HEADER_SIZE
+				+ (long) moves.size() * 8;
+		long segment = 1L << segmentShift;
+		if (length > segment - GameArchive.HEADER_SIZE) {
+			throw new IllegalArgumentException("Game too long to archive: "
+					+ moves.size() + " moves");
+		}
+		// Move a record crossing a segment boundary to the next segment. The
+		// gap is skipped rather than written, and reads as zeros.
+		long end = position + length - 1;
+		if ((position >>> segmentShift) != (end >>> segmentShift)) {
+			flush();
+			position += segment - (position & (segment - 1));
+			try {
+				channel.position(position);
+			} catch (IOException ioe) {
+				throw new FileIOException("IO Error: " + ioe.getMessage());
+			}
+		}
+		if (size == offsets.length) {
+			offsets = Arrays.copyOf(offsets, size * 2);
+		}
+		offsets[size++] = position;
+		ensureRemaining(GameArchive.RECORD_HEADER_SIZE);
+		buffer.put((byte) result);
+		buffer.put((byte) gameType.getValue());
+		buffer.putShort((short) 0);
+		buffer.putInt(moves.size());
+		for (int i = 0; i < moves.size(); i++) {
+			ensureRemaining(8);
+			buffer.putLong(moves.get(i));
+		}
+		position += length;
+		moveCount += moves.size();
+	}
+
+	/**
+	 * Get the number of records written
+	 *
+	 * @return
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Writes the index and the header, and closes the channel.
+	 */
+	@Override
+	public void close() {
+		// Records are whole longs, so the index is aligned to 8 bytes.
+		long indexOffset = position;
+		for (int i = 0; i < size; i++) {
+			ensureRemaining(8);
+			buffer.putLong(offsets[i]);
+		}
+		flush();
+		ByteBuffer header = ByteBuffer.allocate(GameArchive.HEADER_SIZE);
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(GameArchive.MAGIC);
+		header.putInt(GameArchive.VERSION);
+		header.putInt(segmentShift);
+		header.putInt(size);
+		header.putLong(indexOffset);
+		header.putLong(moveCount);
+		header.flip();
+		try {
+			while (header.hasRemaining()) {
+				channel.write(header, header.position());
+			}
+			channel.close();
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the buffer to the channel if fewer than the given number of bytes
+	 * remain in it.
+	 *
+	 * @param bytes
+	 */
+	private void ensureRemaining(int bytes) {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes the buffered bytes to the channel.
+	 */
+	private void flush() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+		buffer.clear();
+	}
+}
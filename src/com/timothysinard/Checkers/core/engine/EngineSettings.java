@@ -0,0 +1,140 @@
+package com.timothysinard.Checkers.core.engine;
+
+import com.timothysinard.Checkers.core.GameOpponent;
+
+/**
+ * Class that stores the configuration of a search engine, which stays the same
+ * across searches.
+ */
+public class EngineSettings {
+
+	// Default size of the transposition table, in megabytes
+	public static final int DEFAULT_TABLE_MEGABYTES = 32;
+
+	// Size of the transposition table, in megabytes
+	private int tableMegabytes;
+	// Number of threads searching
+	private int threads;
+	// How the search is shared between threads
+	private SearchMode searchMode;
+	// Are moves ordered by the killer and history heuristics?
+	private boolean moveOrdering;
+	// Are jumps searched beyond the depth of the search?
+	private boolean quiescence;
+
+	public EngineSettings() {
+		tableMegabytes = DEFAULT_TABLE_MEGABYTES;
+		threads = Runtime.getRuntime().availableProcessors();
+		searchMode = SearchMode.SHARED_TABLE;
+		moveOrdering = true;
+		quiescence = true;
+	}
+
+	/**
+	 * Get and return the settings of the given AI opponent. Only the hardest
+	 * level searches with every available processor.
+	 * 
+	 * @param opponent
+	 * @return
+	 */
+	public static EngineSettings forOpponent(GameOpponent opponent) {
+		EngineSettings settings = new EngineSettings();
+		if (opponent != GameOpponent.AI_HARD) {
+			settings.setThreads(1);
+		}
+		return settings;
+	}
+
+	/**
+	 * Returns the size of the transposition table, in megabytes.
+	 * 
+	 * @return
+	 */
+	public int getTableMegabytes() {
+		return tableMegabytes;
+	}
+
+	/**
+	 * Sets the size of the transposition table, in megabytes.
+	 * 
+	 * @param tableMegabytes
+	 */
+	public void setTableMegabytes(int tableMegabytes) {
+		this.tableMegabytes = tableMegabytes;
+	}
+
+	/**
+	 * Returns the number of threads searching.
+	 * 
+	 * @return
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the number of threads searching.
+	 * 
+	 * @param threads
+	 */
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns how the search is shared between threads.
+	 * 
+	 * @return
+	 */
+	public SearchMode getSearchMode() {
+		return searchMode;
+	}
+
+	/**
+	 * Sets how the search is shared between threads.
+	 * 
+	 * @param searchMode
+	 */
+	public void setSearchMode(SearchMode searchMode) {
+		this.searchMode = searchMode;
+	}
+
+	/**
+	 * Returns if moves are ordered by the killer and history heuristics, and
+	 * jumps by the material they capture. If not, only the best move stored
+	 * in the transposition table is searched first.
+	 * 
+	 * @return
+	 */
+	public boolean isMoveOrdering() {
+		return moveOrdering;
+	}
+
+	/**
+	 * Sets if moves are ordered by the killer and history heuristics.
+	 * 
+	 * @param moveOrdering
+	 */
+	public void setMoveOrdering(boolean moveOrdering) {
+		this.moveOrdering = moveOrdering;
+	}
+
+	/**
+	 * Returns if jumps are searched beyond the depth of the search, so
+	 * positions are only evaluated once no jump is pending.
+	 * 
+	 * @return
+	 */
+	public boolean isQuiescence() {
+		return quiescence;
+	}
+
+	/**
+	 * Sets if jumps are searched beyond the depth of the search.
+	 * 
+	 * @param quiescence
+	 */
+	public void setQuiescence(boolean quiescence) {
+		this.quiescence = quiescence;
+	}
+}
@@ -0,0 +1,102 @@
+package com.timothysinard.Checkers.core.engine;
+
+import com.timothysinard.Checkers.core.BlockOccupant;
+import com.timothysinard.Checkers.core.GameType;
+import com.timothysinard.Checkers.core.Position;
+import com.timothysinard.Checkers.core.Rules;
+
+/**
+ * Static evaluation of positions for the search engine. Scores are material
+ * based, with a small bonus for men advanced towards their king row. In
+ * Reverse game type, running out of pieces wins, so material counts against
+ * a player instead.
+ */
+public class Evaluator {
+
+	// Score of a won position, less the number of plies taken to reach it
+	public static final int WIN_SCORE = 100000;
+	// Value of a man and a king
+	static final int MAN_VALUE = 100;
+	static final int KING_VALUE = 160;
+	// Bonus for each row a man has advanced
+	private static final int ADVANCE_VALUE = 3;
+	// Squares of each row
+	private static final int ROW_MASK = 0xF;
+
+	/**
+	 * Evaluates and returns the score of the given position, from the view of
+	 * the player to move.
+	 *
+	 * @param position
+	 * @param gameType
+	 * @return
+	 */
+	public int evaluate(Position position, GameType gameType) {
+		int score = getMaterial(position, BlockOccupant.PLAYER)
+				- getMaterial(position, BlockOccupant.PLAYER2);
+		if (gameType == GameType.REVERSE) {
+			score = -score;
+		} else {
+			score += getAdvancement(position);
+		}
+		if (position.getPlayerTurn() == BlockOccupant.PLAYER2.getValue()) {
+			return -score;
+		}
+		return score;
+	}
+
+	/**
+	 * Get and return the score of a position where a player has run out of
+	 * pieces, from the view of the player to move, or 0 if both players have
+	 * pieces.
+	 *
+	 * @param position
+	 * @param gameType
+	 * @param ply
+	 * @return
+	 */
+	public int getTerminalScore(Position position, GameType gameType, int ply) {
+		BlockOccupant winner = Rules.getWinnerByPieces(position, gameType);
+		if (winner == null) {
+			return 0;
+		}
+		if (winner.getValue() == position.getPlayerTurn()) {
+			return WIN_SCORE - ply;
+		}
+		return -WIN_SCORE + ply;
+	}
+
+	/**
+	 * Get and return the material value of the given player's pieces, from
+	 * the counts kept by the position.
+	 *
+	 * @param position
+	 * @param player
+	 * @return
+	 */
+	private int getMaterial(Position position, BlockOccupant player) {
+		return position.getMenCount(player) * MAN_VALUE
+				+ position.getKingCount(player) * KING_VALUE;
+	}
+
+	/**
+	 * Get and return the advancement bonus of player 1's men less that of
+	 * player 2's men.
+	 *
+	 * @param position
+	 * @return
+	 */
+	private int getAdvancement(Position position) {
+		int menOne = position.getPlayerOne() & ~position.getKings();
+		int menTwo = position.getPlayerTwo() & ~position.getKings();
+		int score = 0;
+		for (int row = 0; row < Position.SIZE; row++) {
+			int mask = ROW_MASK << (row << 2);
+			// Player 1 advances down the board, player 2 up the board
+			score += Integer.bitCount(menOne & mask) * row
+					- Integer.bitCount(menTwo & mask)
+					* (Position.SIZE - 1 - row);
+		}
+		return score * ADVANCE_VALUE;
+	}
+}
@@ -0,0 +1,88 @@
+package com.timothysinard.Checkers.core.engine;
+
+import com.timothysinard.Checkers.utils.Timer;
+
+/**
+ * Clock of a player's total time for a game, with an optional increment added
+ * after each move. The clock runs between start and stop, and a share of the
+ * remaining time is given as the budget of each move.
+ */
+public class GameClock {
+
+	// Number of moves the remaining time is assumed to be shared between
+	private static final int MOVES_TO_GO = 30;
+
+	// Time remaining, in milliseconds
+	private long remaining;
+	// Time added after each move, in milliseconds
+	private final long increment;
+	// Measures the time spent on the current move
+	private final Timer timer;
+
+	public GameClock(long total, long increment) {
+		this.remaining = total;
+		this.increment = increment;
+		this.timer = new Timer();
+	}
+
+	/**
+	 * Starts the clock for a move.
+	 */
+	public void start() {
+		timer.startTimer();
+	}
+
+	/**
+	 * Stops the clock, taking the time spent from the time remaining and
+	 * adding the increment.
+	 */
+	public void stop() {
+		timer.stopTimer();
+		remaining -= timer.getElapsedTime() / 1000000L;
+		remaining += increment;
+	}
+
+	/**
+	 * Get and return the time budget of the next move, in milliseconds.
+	 *
+	 * @return
+	 */
+	public long getMoveBudget() {
+		if (remaining <= 0) {
+			return 0;
+		}
+		return Math.min(remaining, remaining / MOVES_TO_GO + increment);
+	}
+
+	/**
+	 * Get time remaining, in milliseconds
+	 *
+	 * @return
+	 */
+	public long getRemaining() {
+		return remaining;
+	}
+
+	/**
+	 * Get time added after each move, in milliseconds
+	 *
+	 * @return
+	 */
+	public long getIncrement() {
+		return increment;
+	}
+
+	/**
+	 * Returns if no time remains
+	 *
+	 * @return
+	 */
+	public boolean isExpired() {
+		return remaining <= 0;
+	}
+
+	@Override
+	public String toString() {
+		return remaining + "ms remaining, " + increment + "ms increment";
+	}
+}
@@ -0,0 +1,173 @@
+package com.timothysinard.Checkers.core.engine;
+
+import java.util.Arrays;
+
+import com.timothysinard.Checkers.core.Move;
+import com.timothysinard.Checkers.core.MoveList;
+import com.timothysinard.Checkers.core.Position;
+
+/**
+ * Orders the moves of a node so the moves most likely to cause a cutoff are
+ * searched first. Moves are ordered in stages: the best move stored in the
+ * transposition table, then jumps by the material they capture, then the
+ * killer moves of the ply, then the remaining moves by their butterfly
+ * history score. Killer moves and history scores are learned from the moves
+ * that caused cutoffs, so each search thread keeps its own ordering.
+ */
+class MoveOrdering {
+
+	// Base score of each stage, each above any score of the next stage
+	private static final int TABLE_SCORE = 1 << 30;
+	private static final int CAPTURE_SCORE = 1 << 29;
+	private static final int KILLER_SCORE = 1 << 28;
+	// Greatest history score, beyond which all history scores are halved
+	private static final int HISTORY_LIMIT = 1 << 20;
+	// Number of killer moves kept for each ply
+	private static final int KILLERS = 2;
+
+	// Killer moves of each ply, the most recent first
+	private final long[][] killers;
+	// History score of each move, by source then destination square
+	private final int[][] history;
+	// Scores of the moves being ordered
+	private int[] scores;
+	// Number of cutoffs, and of cutoffs by the first move searched
+	private long cutoffs;
+	private long firstCutoffs;
+
+	MoveOrdering() {
+		this.killers = new long[SearchWorker.MAX_PLY + 1][KILLERS];
+		this.history = new int[Position.SQUARES][Position.SQUARES];
+		this.scores = new int[64];
+		for (int i = 0; i < killers.length; i++) {
+			Arrays.fill(killers[i], Move.NONE);
+		}
+	}
+
+	/**
+	 * Prepares for a new search. Killer moves are cleared, and history scores
+	 * are halved so older results count for less.
+	 */
+	void newSearch() {
+		for (int i = 0; i < killers.length; i++) {
+			Arrays.fill(killers[i], Move.NONE);
+		}
+		ageHistory();
+		cutoffs = 0;
+		firstCutoffs = 0;
+	}
+
+	/**
+	 * Orders the given moves of the given position at the given ply, best
+	 * first. The given packed table data, or 0 if none, gives the stored best
+	 * move.
+	 *
+	 * @param position
+	 * @param moves
+	 * @param entry
+	 * @param ply
+	 */
+	void order(Position position, MoveList moves, long entry, int ply) {
+		int size = moves.size();
+		if (scores.length < size) {
+			scores = new int[size * 2];
+		}
+		int tableSrc = -1;
+		int tableDest = -1;
+		if (entry != 0 && TranspositionTable.hasMove(entry)) {
+			tableSrc = TranspositionTable.getMoveSrc(entry);
+			tableDest = TranspositionTable.getMoveDest(entry);
+		}
+		long[] plyKillers = killers[Math.min(ply, SearchWorker.MAX_PLY)];
+		for (int i = 0; i < size; i++) {
+			long move = moves.get(i);
+			int src = Move.getSrc(move);
+			int dest = Move.getDest(move);
+			int captured = Move.getCaptured(move);
+			int score;
+			if (src == tableSrc && dest == tableDest) {
+				score = TABLE_SCORE;
+			} else if (captured != 0) {
+				int kings = Integer.bitCount(captured & position.getKings());
+				score = CAPTURE_SCORE + kings * Evaluator.KING_VALUE
+						+ (Integer.bitCount(captured) - kings)
+						* Evaluator.MAN_VALUE;
+			} else if (move == plyKillers[0]) {
+				score = KILLER_SCORE + 1;
+			} else if (move == plyKillers[1]) {
+				score = KILLER_SCORE;
+			} else {
+				score = history[src][dest];
+			}
+			// Insert the move in order, after moves of the same score.
+			int j = i;
+			while (j > 0 && scores[j - 1] < score) {
+				scores[j] = scores[j - 1];
+				moves.set(j, moves.get(j - 1));
+				j--;
+			}
+			scores[j] = score;
+			moves.set(j, move);
+		}
+	}
+
+	/**
+	 * Records the given move, searched as the given index of its node, as the
+	 * cause of a cutoff at the given depth and ply. Jumps are already ordered
+	 * by the material they capture, so only other moves are learned.
+	 *
+	 * @param move
+	 * @param index
+	 * @param depth
+	 * @param ply
+	 */
+	void cutoff(long move, int index, int depth, int ply) {
+		cutoffs++;
+		if (index == 0) {
+			firstCutoffs++;
+		}
+		if (Move.getCaptured(move) != 0) {
+			return;
+		}
+		long[] plyKillers = killers[Math.min(ply, SearchWorker.MAX_PLY)];
+		if (plyKillers[0] != move) {
+			plyKillers[1] = plyKillers[0];
+			plyKillers[0] = move;
+		}
+		int[] row = history[Move.getSrc(move)];
+		int dest = Move.getDest(move);
+		row[dest] += Math.max(1, depth * depth);
+		if (row[dest] > HISTORY_LIMIT) {
+			ageHistory();
+		}
+	}
+
+	/**
+	 * Get number of cutoffs of the current search
+	 *
+	 * @return
+	 */
+	long getCutoffs() {
+		return cutoffs;
+	}
+
+	/**
+	 * Get number of cutoffs of the current search by the first move searched
+	 *
+	 * @return
+	 */
+	long getFirstCutoffs() {
+		return firstCutoffs;
+	}
+
+	/**
+	 * Halves all history scores.
+	 */
+	private void ageHistory() {
+		for (int i = 0; i < history.length; i++) {
+			for (int j = 0; j < history[i].length; j++) {
+				history[i][j] >>= 1;
+			}
+		}
+	}
+}
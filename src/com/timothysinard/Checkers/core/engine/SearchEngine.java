@@ -0,0 +1,387 @@
+package com.timothysinard.Checkers.core.engine;
+
+import java.util.Arrays;
+
+import com.timothysinard.Checkers.core.GameType;
+import com.timothysinard.Checkers.core.Move;
+import com.timothysinard.Checkers.core.MoveGenerator;
+import com.timothysinard.Checkers.core.MoveList;
+import com.timothysinard.Checkers.core.Position;
+import com.timothysinard.Checkers.utils.Timer;
+
+/**
+ * Finds the best move of a position with a negamax alpha-beta search, using
+ * the same rules as the game through Position.makeMove. Each whole
+ * jump-series is searched as a single move, so a multi-jump counts as one
+ * ply. A move that leaves the same player to move, such as the rest of a
+ * jump-series begun before the search, is not negated and does not count
+ * against the search depth.
+ * 
+ * The search is made in iterative deepening passes, one ply deeper each pass,
+ * with the best move of the last pass searched first. Once the node or time
+ * budget is spent, the search stops and the best move of the last completed
+ * pass is returned. The time budget of a move is that of the limits, or less
+ * if a game clock is set and is running low.
+ * 
+ * At the leaves, only jumps are searched further, until the position is
+ * quiet, so the search does not stop in the middle of an exchange.
+ * 
+ * Results are kept in a transposition table, so a position reached again by
+ * another order of moves is not searched again, and its best move is searched
+ * first in later passes.
+ * 
+ * The search is shared between the configured number of threads, by the
+ * configured search mode. In SHARED_TABLE mode, the calling thread runs the
+ * main worker, which checks the budget, and each helper thread searches the
+ * same root with its own worker, every other helper one pass deeper. Workers
+ * only share the table, so results found by one worker are used by the
+ * others. The best move of the deepest completed pass is returned. In
+ * WORK_SPLITTING mode, the moves of each node are split between the threads
+ * of a ForkJoinPool, as in SplitSearch.
+ */
+public class SearchEngine {
+
+	// Limits of each search
+	private final SearchLimits limits;
+	// Configuration of the engine
+	private final EngineSettings settings;
+	// Results of previous searches, by position key
+	private final TranspositionTable table;
+	// Evaluation of leaf positions
+	private final Evaluator evaluator;
+	// Generator used to find root moves
+	private final MoveGenerator moveGenerator;
+	// Reusable list of root moves
+	private final MoveList rootMoves;
+	// How the search is shared between threads
+	private final SearchMode searchMode;
+	// Worker of each thread, the main worker first, in SHARED_TABLE mode
+	private final SearchWorker[] workers;
+	// Search of the WORK_SPLITTING mode, null in other modes
+	private final SplitSearch splitSearch;
+	// Game type and Force Jump setting of the current search, which the
+	// table results depend on
+	private GameType gameType;
+	private boolean forceJumps;
+	// Optional clock of the engine's total time for the game, null if none
+	private GameClock gameClock;
+	// Measures the time spent on the current search
+	private final Timer timer;
+	// Time budget of the current search, in nanoseconds
+	private long timeBudget;
+	// Has the current search been stopped?
+	private volatile boolean stopped;
+	// Statistics of the last search
+	private SearchStatistics statistics;
+
+	public SearchEngine(SearchLimits limits) {
+		this(limits, new EngineSettings());
+	}
+
+	public SearchEngine(SearchLimits limits, EngineSettings settings) {
+		this.limits = limits;
+		this.settings = settings;
+		this.table = new TranspositionTable(settings.getTableMegabytes());
+		this.evaluator = new Evaluator();
+		this.moveGenerator = new MoveGenerator();
+		this.rootMoves = new MoveList();
+		this.searchMode = settings.getSearchMode();
+		int threads = Math.max(1, settings.getThreads());
+		if (searchMode == SearchMode.WORK_SPLITTING) {
+			this.workers = new SearchWorker[0];
+			this.splitSearch = new SplitSearch(this, threads);
+		} else {
+			this.workers = new SearchWorker[threads];
+			for (int i = 0; i < workers.length; i++) {
+				workers[i] = new SearchWorker(this, i == 0);
+			}
+			this.splitSearch = null;
+		}
+		this.timer = new Timer();
+		this.gameClock = null;
+		this.statistics = new SearchStatistics(new long[0], new int[0], 0,
+				Move.NONE, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Searches and returns the best packed move for the player to move in the
+	 * given position, or Move.NONE if no move is available. The given position
+	 * is not changed.
+	 *
+	 * @param root
+	 * @param gameType
+	 * @param forceJumps
+	 * @return
+	 */
+	public long findMove(Position root, GameType gameType, boolean forceJumps) {
+		// Results of other rules are not valid.
+		if (gameType != this.gameType || forceJumps != this.forceJumps) {
+			table.clear();
+		}
+		table.newSearch();
+		this.gameType = gameType;
+		this.forceJumps = forceJumps;
+		this.stopped = false;
+		long budget = limits.getTime();
+		if (gameClock != null) {
+			budget = Math.min(budget, gameClock.getMoveBudget());
+			gameClock.start();
+		}
+		this.timeBudget = budget * 1000000L;
+		timer.startTimer();
+
+		moveGenerator.generatePaths(root.copy(), gameType, forceJumps,
+				rootMoves);
+		long bestMove = Move.NONE;
+		int score = 0;
+		int depth = 0;
+		boolean searched = rootMoves.size() > 1;
+		if (rootMoves.size() == 1) {
+			// A forced move needs no search.
+			bestMove = rootMoves.get(0);
+		} else if (searched && searchMode == SearchMode.WORK_SPLITTING) {
+			splitSearch.prepare(root, rootMoves);
+			splitSearch.run();
+			bestMove = splitSearch.getBestMove();
+			score = splitSearch.getScore();
+			depth = splitSearch.getCompletedDepth();
+		} else if (searched) {
+			SearchWorker best = search(root);
+			bestMove = best.getBestMove();
+			score = best.getScore();
+			depth = best.getCompletedDepth();
+		}
+		timer.stopTimer();
+		if (gameClock != null) {
+			gameClock.stop();
+		}
+		long[] nodes;
+		int[] depths;
+		long[] cutoffs = new long[2];
+		if (searched && searchMode == SearchMode.WORK_SPLITTING) {
+			// Each thread of the pool takes part in every pass.
+			nodes = splitSearch.getThreadNodes();
+			depths = new int[nodes.length];
+			Arrays.fill(depths, depth);
+			cutoffs = splitSearch.getCutoffs();
+		} else {
+			nodes = new long[workers.length];
+			depths = new int[workers.length];
+			if (searched) {
+				for (int i = 0; i < workers.length; i++) {
+					nodes[i] = workers[i].getNodes();
+					depths[i] = workers[i].getCompletedDepth();
+					cutoffs[0] += workers[i].getOrdering().getCutoffs();
+					cutoffs[1] += workers[i].getOrdering().getFirstCutoffs();
+				}
+			}
+		}
+		statistics = new SearchStatistics(nodes, depths,
+				timer.getElapsedTime(), bestMove, score, depth, cutoffs[0],
+				cutoffs[1]);
+		return bestMove;
+	}
+
+	/**
+	 * Searches the root moves with every worker, and returns the worker with
+	 * the deepest completed pass.
+	 *
+	 * @param root
+	 * @return
+	 */
+	private SearchWorker search(Position root) {
+		for (int i = 0; i < workers.length; i++) {
+			workers[i].prepare(root, rootMoves, 1 + (i & 1));
+		}
+		Thread[] helpers = new Thread[workers.length - 1];
+		for (int i = 0; i < helpers.length; i++) {
+			helpers[i] = new Thread(workers[i + 1], "SearchWorker-" + (i + 1));
+			helpers[i].setDaemon(true);
+			helpers[i].start();
+		}
+		workers[0].run();
+		for (int i = 0; i < helpers.length; i++) {
+			try {
+				helpers[i].join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		SearchWorker best = workers[0];
+		for (int i = 1; i < workers.length; i++) {
+			if (workers[i].getCompletedDepth() > best.getCompletedDepth()) {
+				best = workers[i];
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Stops the search if the node or time budget has been spent. The first
+	 * pass, given the completed depth of the main worker or of the split
+	 * search, is always completed, so a searched move is returned.
+	 *
+	 * @param completedDepth
+	 */
+	void checkLimits(int completedDepth) {
+		if (completedDepth == 0) {
+			return;
+		}
+		long nodes = 0;
+		if (splitSearch != null) {
+			nodes = splitSearch.getNodes();
+		}
+		// Counts of other threads are only read as they were published.
+		for (int i = 0; i < workers.length; i++) {
+			nodes += workers[i].getPublishedNodes();
+		}
+		if (nodes >= limits.getNodes() || timer.getElapsedTime() >= timeBudget) {
+			stopped = true;
+		}
+	}
+
+	/**
+	 * Stops the current search, from any thread. findMove then returns the
+	 * best move of the last completed depth.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Returns if the current search has been stopped
+	 *
+	 * @return
+	 */
+	boolean isStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Get game type of the current search
+	 *
+	 * @return
+	 */
+	GameType getGameType() {
+		return gameType;
+	}
+
+	/**
+	 * Get Force Jump setting of the current search
+	 *
+	 * @return
+	 */
+	boolean isForceJumps() {
+		return forceJumps;
+	}
+
+	/**
+	 * Get evaluation of leaf positions
+	 *
+	 * @return
+	 */
+	Evaluator getEvaluator() {
+		return evaluator;
+	}
+
+	/**
+	 * Set the clock of the engine's total time for the game, or null if none.
+	 * The clock is run while the engine searches.
+	 *
+	 * @param gameClock
+	 */
+	public void setGameClock(GameClock gameClock) {
+		this.gameClock = gameClock;
+	}
+
+	/**
+	 * Get the clock of the engine's total time for the game, null if none
+	 *
+	 * @return
+	 */
+	public GameClock getGameClock() {
+		return gameClock;
+	}
+
+	/**
+	 * Get statistics of the last search
+	 *
+	 * @return
+	 */
+	public SearchStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Get depth of the last completed pass of the last search
+	 *
+	 * @return
+	 */
+	public int getCompletedDepth() {
+		return statistics.getDepth();
+	}
+
+	/**
+	 * Get score of the best move of the last completed pass, from the view of
+	 * the player to move
+	 *
+	 * @return
+	 */
+	public int getScore() {
+		return statistics.getScore();
+	}
+
+	/**
+	 * Get time, in nanoseconds, spent on the last search
+	 *
+	 * @return
+	 */
+	public long getElapsedTime() {
+		return timer.getElapsedTime();
+	}
+
+	/**
+	 * Get number of positions visited by the last search, by all threads
+	 *
+	 * @return
+	 */
+	public long getNodes() {
+		return statistics.getNodes();
+	}
+
+	/**
+	 * Get limits of each search
+	 *
+	 * @return
+	 */
+	public SearchLimits getLimits() {
+		return limits;
+	}
+
+	/**
+	 * Get how the search is shared between threads
+	 *
+	 * @return
+	 */
+	public SearchMode getSearchMode() {
+		return searchMode;
+	}
+
+	/**
+	 * Get configuration of the engine
+	 *
+	 * @return
+	 */
+	public EngineSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Get transposition table of the engine
+	 *
+	 * @return
+	 */
+	public TranspositionTable getTable() {
+		return table;
+	}
+}
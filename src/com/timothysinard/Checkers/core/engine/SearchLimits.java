@@ -0,0 +1,77 @@
+package com.timothysinard.Checkers.core.engine;
+
+import com.timothysinard.Checkers.core.GameOpponent;
+
+/**
+ * Limits of a single search: the greatest depth searched, and the node and
+ * time budgets that stop the search early. Each AI difficulty maps to its own
+ * limits, the easier levels bounded by depth and nodes and the hardest by
+ * time.
+ */
+public class SearchLimits {
+
+	// Greatest depth, in player turns, searched
+	private final int depth;
+	// Maximum number of positions visited
+	private final long nodes;
+	// Maximum time spent, in milliseconds
+	private final long time;
+
+	public SearchLimits(int depth, long nodes, long time) {
+		this.depth = depth;
+		this.nodes = nodes;
+		this.time = time;
+	}
+
+	/**
+	 * Get and return the limits of the given AI opponent.
+	 *
+	 * @param opponent
+	 * @return
+	 */
+	public static SearchLimits forOpponent(GameOpponent opponent) {
+		switch (opponent) {
+		case AI_EASY:
+			return new SearchLimits(2, 10000, 250);
+		case AI_MEDIUM:
+			return new SearchLimits(6, 500000, 500);
+		case AI_HARD:
+			return new SearchLimits(64, 50000000, 1000);
+		default:
+			throw new IllegalArgumentException("No search limits for "
+					+ opponent);
+		}
+	}
+
+	/**
+	 * Get greatest depth, in player turns, searched
+	 *
+	 * @return
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Get maximum number of positions visited
+	 *
+	 * @return
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Get maximum time spent, in milliseconds
+	 *
+	 * @return
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	@Override
+	public String toString() {
+		return "depth " + depth + ", " + nodes + " nodes, " + time + "ms";
+	}
+}
@@ -0,0 +1,29 @@
+package com.timothysinard.Checkers.core.engine;
+
+public enum SearchMode {
+	SHARED_TABLE(1, "Shared Table"), WORK_SPLITTING(2, "Work Splitting");
+	// Store integer value associated with search-mode.
+	private int value;
+	private String id;
+
+	private SearchMode(int v, String id) {
+		value = v;
+		this.id = id;
+	}
+
+	/**
+	 * Get and return integer value associated with search-mode.
+	 * 
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * Returns string ID
+	 */
+	@Override
+	public String toString() {
+		return id;
+	}
+}
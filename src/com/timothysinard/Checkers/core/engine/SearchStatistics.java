@@ -0,0 +1,176 @@
+package com.timothysinard.Checkers.core.engine;
+
+import com.timothysinard.Checkers.core.Move;
+
+/**
+ * Statistics of a finished search: the result, the time spent, and the nodes
+ * visited and depth completed by each thread, the main thread first.
+ */
+public class SearchStatistics {
+
+	// Positions visited by each thread
+	private final long[] threadNodes;
+	// Depth of the last completed pass of each thread
+	private final int[] threadDepths;
+	// Time spent, in nanoseconds
+	private final long elapsedTime;
+	// Best move found
+	private final long move;
+	// Score of the best move
+	private final int score;
+	// Depth of the pass the best move was found by
+	private final int depth;
+	// Number of cutoffs, and of cutoffs by the first move searched
+	private final long cutoffs;
+	private final long firstCutoffs;
+
+	public SearchStatistics(long[] threadNodes, int[] threadDepths,
+			long elapsedTime, long move, int score, int depth, long cutoffs,
+			long firstCutoffs) {
+		this.threadNodes = threadNodes;
+		this.threadDepths = threadDepths;
+		this.elapsedTime = elapsedTime;
+		this.move = move;
+		this.score = score;
+		this.depth = depth;
+		this.cutoffs = cutoffs;
+		this.firstCutoffs = firstCutoffs;
+	}
+
+	/**
+	 * Get and return the number of positions visited by all threads.
+	 *
+	 * @return
+	 */
+	public long getNodes() {
+		long nodes = 0;
+		for (int i = 0; i < threadNodes.length; i++) {
+			nodes += threadNodes[i];
+		}
+		return nodes;
+	}
+
+	/**
+	 * Get and return the number of positions visited each second by all
+	 * threads.
+	 *
+	 * @return
+	 */
+	public long getNodesPerSecond() {
+		if (elapsedTime <= 0) {
+			return 0;
+		}
+		return (long) (getNodes() * 1e9 / elapsedTime);
+	}
+
+	/**
+	 * Get number of threads searched with
+	 *
+	 * @return
+	 */
+	public int getThreads() {
+		return threadNodes.length;
+	}
+
+	/**
+	 * Get positions visited by the given thread
+	 *
+	 * @param thread
+	 * @return
+	 */
+	public long getThreadNodes(int thread) {
+		return threadNodes[thread];
+	}
+
+	/**
+	 * Get depth of the last completed pass of the given thread
+	 *
+	 * @param thread
+	 * @return
+	 */
+	public int getThreadDepth(int thread) {
+		return threadDepths[thread];
+	}
+
+	/**
+	 * Get time spent, in nanoseconds
+	 *
+	 * @return
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Get best move found
+	 *
+	 * @return
+	 */
+	public long getMove() {
+		return move;
+	}
+
+	/**
+	 * Get score of the best move
+	 *
+	 * @return
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Get depth of the pass the best move was found by
+	 *
+	 * @return
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Get number of cutoffs
+	 *
+	 * @return
+	 */
+	public long getCutoffs() {
+		return cutoffs;
+	}
+
+	/**
+	 * Get number of cutoffs by the first move searched
+	 *
+	 * @return
+	 */
+	public long getFirstCutoffs() {
+		return firstCutoffs;
+	}
+
+	/**
+	 * Get and return the share of cutoffs made by the first move searched, in
+	 * percent. The closer to 100, the better the moves were ordered.
+	 *
+	 * @return
+	 */
+	public double getFirstCutoffRate() {
+		if (cutoffs == 0) {
+			return 0;
+		}
+		return firstCutoffs * 100.0 / cutoffs;
+	}
+
+	@Override
+	public String toString() {
+		String str = "move " + (move == Move.NONE ? "none" : Move.toString(move))
+				+ ", score " + score + ", depth " + depth + ", "
+				+ getNodes() + " nodes in " + (elapsedTime / 1000000)
+				+ "ms, " + getNodesPerSecond() + " nodes/sec, "
+				+ String.format("%.1f", getFirstCutoffRate())
+				+ "% of cutoffs by the first move";
+		for (int i = 0; i < threadNodes.length; i++) {
+			str += "\n  thread " + i + ": " + threadNodes[i] + " nodes, depth "
+					+ threadDepths[i];
+		}
+		return str;
+	}
+}
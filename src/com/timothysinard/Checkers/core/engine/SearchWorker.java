@@ -0,0 +1,417 @@
+package com.timothysinard.Checkers.core.engine;
+
+import com.timothysinard.Checkers.core.Move;
+import com.timothysinard.Checkers.core.MoveGenerator;
+import com.timothysinard.Checkers.core.MoveList;
+import com.timothysinard.Checkers.core.Position;
+
+/**
+ * One thread of a search. Each worker searches its own copy of the root
+ * position in iterative deepening passes with its own move lists, and shares
+ * only the transposition table and the stop flag of its engine. Workers that
+ * start one pass deeper than others fill the table ahead of them.
+ */
+class SearchWorker implements Runnable {
+
+	// Maximum number of plies searched from the root
+	static final int MAX_PLY = 128;
+	// Score greater than any reachable score
+	static final int INFINITY = Evaluator.WIN_SCORE + 1;
+	// Scores beyond this are a forced win or loss
+	static final int WIN_BOUND = Evaluator.WIN_SCORE - MAX_PLY;
+	// Number of nodes visited between checks of the budget
+	private static final int CHECK_INTERVAL = 1024;
+
+	// Engine this worker searches for
+	private final SearchEngine engine;
+	// Is this the main worker, which checks the budget of the search?
+	private final boolean main;
+	// Generator used to find moves
+	private final MoveGenerator moveGenerator;
+	// Reusable move list of each ply
+	private final MoveList[] moveLists;
+	// Order of the moves of each node
+	private final MoveOrdering ordering;
+	// Copy of the root position, changed while searching
+	private Position position;
+	// Depth of the first pass
+	private int startDepth;
+	// Number of positions visited by the current search
+	private long nodes;
+	// Count of positions visited as last published to other threads, every
+	// CHECK_INTERVAL nodes
+	private volatile long publishedNodes;
+	// Depth of the last completed pass
+	private int completedDepth;
+	// Score of the best move of the last completed pass
+	private int score;
+	// Best move of the last completed pass
+	private long bestMove;
+
+	SearchWorker(SearchEngine engine, boolean main) {
+		this.engine = engine;
+		this.main = main;
+		this.moveGenerator = new MoveGenerator();
+		this.moveLists = new MoveList[MAX_PLY + 1];
+		for (int i = 0; i < moveLists.length; i++) {
+			moveLists[i] = new MoveList();
+		}
+		this.ordering = new MoveOrdering();
+	}
+
+	/**
+	 * Prepares the worker to search the given root moves of the given
+	 * position, with the first pass at the given depth.
+	 *
+	 * @param root
+	 * @param rootMoves
+	 * @param startDepth
+	 */
+	void prepare(Position root, MoveList rootMoves, int startDepth) {
+		this.position = root.copy();
+		this.startDepth = startDepth;
+		this.nodes = 0;
+		this.publishedNodes = 0;
+		this.completedDepth = 0;
+		this.score = 0;
+		this.bestMove = rootMoves.get(0);
+		moveLists[0].copyFrom(rootMoves);
+		ordering.newSearch();
+	}
+
+	@Override
+	public void run() {
+		MoveList moves = moveLists[0];
+		int maxDepth = engine.getLimits().getDepth();
+		for (int depth = startDepth; depth <= maxDepth; depth++) {
+			int best = searchRoot(moves, depth);
+			if (engine.isStopped()) {
+				break;
+			}
+			// Search the best move first in the next pass.
+			long move = moves.get(best);
+			moves.set(best, moves.get(0));
+			moves.set(0, move);
+			bestMove = move;
+			completedDepth = depth;
+			// A forced win or loss will not change with more depth.
+			if (Math.abs(score) >= WIN_BOUND) {
+				break;
+			}
+		}
+		// The search is over once the main worker is done.
+		if (main) {
+			engine.stop();
+		}
+	}
+
+	/**
+	 * Get number of positions visited by the current search. Only read from
+	 * another thread once the thread of this worker has been joined.
+	 *
+	 * @return
+	 */
+	long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Get number of positions visited by the current search, as last
+	 * published by the thread of this worker. Safe to read from any thread
+	 * while the search runs, at most CHECK_INTERVAL nodes behind.
+	 *
+	 * @return
+	 */
+	long getPublishedNodes() {
+		return publishedNodes;
+	}
+
+	/**
+	 * Get depth of the last completed pass
+	 *
+	 * @return
+	 */
+	int getCompletedDepth() {
+		return completedDepth;
+	}
+
+	/**
+	 * Get score of the best move of the last completed pass
+	 *
+	 * @return
+	 */
+	int getScore() {
+		return score;
+	}
+
+	/**
+	 * Get best move of the last completed pass
+	 *
+	 * @return
+	 */
+	long getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Get order of the moves of each node
+	 *
+	 * @return
+	 */
+	MoveOrdering getOrdering() {
+		return ordering;
+	}
+
+	/**
+	 * Searches each of the given root moves to the given depth, and returns the
+	 * index of the best move. The score of the best move is kept.
+	 *
+	 * @param moves
+	 * @param depth
+	 * @return
+	 */
+	private int searchRoot(MoveList moves, int depth) {
+		int player = position.getPlayerTurn();
+		int best = 0;
+		int alpha = -INFINITY;
+		for (int i = 0; i < moves.size(); i++) {
+			int value = searchMove(moves.get(i), player, depth, 0, alpha,
+					INFINITY);
+			if (engine.isStopped()) {
+				break;
+			}
+			if (value > alpha) {
+				alpha = value;
+				best = i;
+			}
+		}
+		if (!engine.isStopped()) {
+			score = alpha;
+		}
+		return best;
+	}
+
+	/**
+	 * Makes the given move of the given player, searches the resulting
+	 * position, then unmakes the move. Returns the score from the view of the
+	 * given player.
+	 *
+	 * @param move
+	 * @param player
+	 * @param depth
+	 * @param ply
+	 * @param alpha
+	 * @param beta
+	 * @return
+	 */
+	private int searchMove(long move, int player, int depth, int ply,
+			int alpha, int beta) {
+		long undo = position.makeMove(move, engine.getGameType());
+		int value;
+		if (position.getPlayerTurn() == player) {
+			// The same player moves again, such as once the game is over.
+			value = search(depth, ply + 1, alpha, beta);
+		} else {
+			value = -search(depth - 1, ply + 1, -beta, -alpha);
+		}
+		position.unmakeMove(move, undo);
+		return value;
+	}
+
+	/**
+	 * Searches and returns the score of the position from the view of the
+	 * player to move, within the given alpha-beta window.
+	 *
+	 * @param depth
+	 * @param ply
+	 * @param alpha
+	 * @param beta
+	 * @return
+	 */
+	private int search(int depth, int ply, int alpha, int beta) {
+		nodes++;
+		if (nodes % CHECK_INTERVAL == 0) {
+			// The count is read by the main worker while checking the
+			// budget, so it is published through a volatile write.
+			publishedNodes = nodes;
+			if (main) {
+				engine.checkLimits(completedDepth);
+			}
+		}
+		if (engine.isStopped()) {
+			return 0;
+		}
+		// A player has run out of pieces.
+		if (position.getPlayerOne() == 0 || position.getPlayerTwo() == 0) {
+			return engine.getEvaluator().getTerminalScore(position,
+					engine.getGameType(), ply);
+		}
+		// Use a stored result that is deep enough, if it is within bounds.
+		TranspositionTable table = engine.getTable();
+		long key = position.getKey();
+		long entry = depth > 0 ? table.probe(key) : 0;
+		if (entry != 0 && TranspositionTable.getDepth(entry) >= depth) {
+			int value = fromTable(TranspositionTable.getScore(entry), ply);
+			int bound = TranspositionTable.getBound(entry);
+			if (bound == TranspositionTable.BOUND_EXACT
+					|| (bound == TranspositionTable.BOUND_LOWER
+							&& value >= beta)
+					|| (bound == TranspositionTable.BOUND_UPPER
+							&& value <= alpha)) {
+				return value;
+			}
+		}
+		int player = position.getPlayerTurn();
+		MoveList moves = moveLists[ply];
+		moveGenerator.generatePaths(position, engine.getGameType(),
+				engine.isForceJumps(), moves);
+		// If no moves are available, the opposing player wins.
+		if (moves.isEmpty()) {
+			return -Evaluator.WIN_SCORE + ply;
+		}
+		if (ply >= MAX_PLY
+				|| (depth <= 0 && !engine.getSettings().isQuiescence())) {
+			return engine.getEvaluator().evaluate(position,
+					engine.getGameType());
+		}
+		if (depth <= 0) {
+			return quiesce(moves, ply, alpha, beta);
+		}
+		if (engine.getSettings().isMoveOrdering()) {
+			ordering.order(position, moves, entry, ply);
+		} else {
+			SearchWorker.orderTableMove(moves, entry);
+		}
+		int alphaStart = alpha;
+		int best = -INFINITY;
+		long bestMove = Move.NONE;
+		for (int i = 0; i < moves.size(); i++) {
+			long move = moves.get(i);
+			int value = searchMove(move, player, depth, ply, alpha, beta);
+			if (value > best) {
+				best = value;
+				bestMove = move;
+				if (value > alpha) {
+					alpha = value;
+					if (alpha >= beta) {
+						ordering.cutoff(move, i, depth, ply);
+						break;
+					}
+				}
+			}
+		}
+		if (!engine.isStopped()) {
+			int bound = TranspositionTable.BOUND_EXACT;
+			if (best <= alphaStart) {
+				bound = TranspositionTable.BOUND_UPPER;
+			} else if (best >= beta) {
+				bound = TranspositionTable.BOUND_LOWER;
+			}
+			table.store(key, depth, bound, toTable(best, ply), bestMove);
+		}
+		return best;
+	}
+
+	/**
+	 * Searches only the jumps of the given moves of the position, so a
+	 * position is not evaluated in the middle of an exchange. A player who
+	 * may stop jumping can stand pat on the evaluation of the position, but
+	 * a player who must continue a jump-series or must take a forced jump
+	 * cannot.
+	 *
+	 * @param moves
+	 * @param ply
+	 * @param alpha
+	 * @param beta
+	 * @return
+	 */
+	private int quiesce(MoveList moves, int ply, int alpha, int beta) {
+		int player = position.getPlayerTurn();
+		// Forced jumps are generated without any steps.
+		boolean forced = position.getContinueSquare() >= 0
+				|| (engine.isForceJumps() && Move.isJump(moves.get(0)));
+		int best = -INFINITY;
+		if (!forced) {
+			best = engine.getEvaluator().evaluate(position,
+					engine.getGameType());
+			if (best >= beta) {
+				return best;
+			}
+			alpha = Math.max(alpha, best);
+		}
+		if (engine.getSettings().isMoveOrdering()) {
+			ordering.order(position, moves, 0, ply);
+		}
+		for (int i = 0; i < moves.size(); i++) {
+			long move = moves.get(i);
+			if (!Move.isJump(move)) {
+				continue;
+			}
+			int value = searchMove(move, player, 0, ply, alpha, beta);
+			if (value > best) {
+				best = value;
+				if (value > alpha) {
+					alpha = value;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Moves the best move stored in the given packed table data, if any, to
+	 * the front of the given moves.
+	 *
+	 * @param moves
+	 * @param entry
+	 */
+	static void orderTableMove(MoveList moves, long entry) {
+		if (entry != 0 && TranspositionTable.hasMove(entry)) {
+			int index = moves.indexOf(TranspositionTable.getMoveSrc(entry),
+					TranspositionTable.getMoveDest(entry));
+			if (index > 0) {
+				long move = moves.get(index);
+				moves.set(index, moves.get(0));
+				moves.set(0, move);
+			}
+		}
+	}
+
+	/**
+	 * Converts the given score at the given ply to a score to store in the
+	 * table. Win and loss scores are stored by their distance from the stored
+	 * position, rather than from the root.
+	 *
+	 * @param value
+	 * @param ply
+	 * @return
+	 */
+	static int toTable(int value, int ply) {
+		if (value >= WIN_BOUND) {
+			return value + ply;
+		} else if (value <= -WIN_BOUND) {
+			return value - ply;
+		}
+		return value;
+	}
+
+	/**
+	 * Converts the given score stored in the table to a score at the given
+	 * ply.
+	 *
+	 * @param value
+	 * @param ply
+	 * @return
+	 */
+	static int fromTable(int value, int ply) {
+		if (value >= WIN_BOUND) {
+			return value - ply;
+		} else if (value <= -WIN_BOUND) {
+			return value + ply;
+		}
+		return value;
+	}
+}
@@ -0,0 +1,618 @@
+package com.timothysinard.Checkers.core.engine;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+import com.timothysinard.Checkers.core.Move;
+import com.timothysinard.Checkers.core.MoveGenerator;
+import com.timothysinard.Checkers.core.MoveList;
+import com.timothysinard.Checkers.core.Position;
+
+/**
+ * Parallel search that splits the work of a node between the threads of a
+ * ForkJoinPool, by the Young Brothers Wait rule: the first move of a node is
+ * searched alone, and only once its score is known are the remaining moves
+ * split off as tasks, which idle threads steal. A move that is beyond the
+ * beta bound aborts the tasks of its siblings, and the tasks below them.
+ * Nodes with less than SPLIT_DEPTH plies left, and the quiescence search
+ * below the leaves, are searched by one thread.
+ *
+ * Like SearchWorker, the root is searched in iterative deepening passes with
+ * the best move of the last pass searched first, and the transposition table
+ * of the engine is used by every thread.
+ */
+class SplitSearch {
+
+	// Least depth left for the moves of a node to be split between threads
+	private static final int SPLIT_DEPTH = 3;
+	// Number of nodes visited between checks of the budget
+	private static final int CHECK_INTERVAL = 1024;
+
+	// Engine this search is made for
+	private final SearchEngine engine;
+	// Number of threads searching
+	private final int parallelism;
+	// Pool of the threads of the current search
+	private ForkJoinPool pool;
+	// Threads of the pool of the current search, each with its own move
+	// lists
+	private final ArrayList<SplitThread> threads;
+	// Root moves, the best move of the last pass first
+	private final MoveList rootMoves;
+	// Root position, which each task copies
+	private Position position;
+	// Depth of the last completed pass
+	private volatile int completedDepth;
+	// Score of the best move of the last completed pass
+	private int score;
+	// Best move of the last completed pass
+	private long bestMove;
+
+	SplitSearch(SearchEngine engine, int parallelism) {
+		this.engine = engine;
+		this.threads = new ArrayList<SplitThread>();
+		this.rootMoves = new MoveList();
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Prepares to search the given root moves of the given position.
+	 *
+	 * @param root
+	 * @param moves
+	 */
+	void prepare(Position root, MoveList moves) {
+		this.position = root.copy();
+		this.completedDepth = 0;
+		this.score = 0;
+		this.bestMove = moves.get(0);
+		rootMoves.copyFrom(moves);
+		synchronized (threads) {
+			threads.clear();
+		}
+	}
+
+	/**
+	 * Searches the root in iterative deepening passes, until the depth limit
+	 * is reached or the engine is stopped. The threads of the pool are
+	 * started for the search, and end with it.
+	 */
+	void run() {
+		pool = new ForkJoinPool(parallelism,
+				new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+					@Override
+					public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+						SplitThread thread = new SplitThread(pool);
+						synchronized (threads) {
+							threads.add(thread);
+						}
+						return thread;
+					}
+				}, null, false);
+		int maxDepth = engine.getLimits().getDepth();
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			RootTask task = new RootTask(depth);
+			int best = pool.invoke(task);
+			if (engine.isStopped()) {
+				break;
+			}
+			// Search the best move first in the next pass.
+			long move = rootMoves.get(best);
+			rootMoves.set(best, rootMoves.get(0));
+			rootMoves.set(0, move);
+			bestMove = move;
+			score = task.value;
+			completedDepth = depth;
+			// A forced win or loss will not change with more depth.
+			if (Math.abs(score) >= SearchWorker.WIN_BOUND) {
+				break;
+			}
+		}
+		engine.stop();
+		pool.shutdown();
+		pool = null;
+	}
+
+	/**
+	 * Get and return the number of positions visited by the current search,
+	 * as last published by each thread. Safe to read while the search runs.
+	 *
+	 * @return
+	 */
+	long getNodes() {
+		long nodes = 0;
+		synchronized (threads) {
+			for (SplitThread thread : threads) {
+				nodes += thread.publishedNodes;
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Get and return the number of positions visited by each thread of the
+	 * pool in the current search.
+	 *
+	 * @return
+	 */
+	long[] getThreadNodes() {
+		synchronized (threads) {
+			long[] nodes = new long[threads.size()];
+			for (int i = 0; i < nodes.length; i++) {
+				nodes[i] = threads.get(i).nodes;
+			}
+			return nodes;
+		}
+	}
+
+	/**
+	 * Get and return the number of cutoffs of the current search, and of
+	 * cutoffs by the first move searched, by all threads of the pool.
+	 *
+	 * @return
+	 */
+	long[] getCutoffs() {
+		long[] cutoffs = new long[2];
+		synchronized (threads) {
+			for (SplitThread thread : threads) {
+				cutoffs[0] += thread.ordering.getCutoffs();
+				cutoffs[1] += thread.ordering.getFirstCutoffs();
+			}
+		}
+		return cutoffs;
+	}
+
+	/**
+	 * Get depth of the last completed pass
+	 *
+	 * @return
+	 */
+	int getCompletedDepth() {
+		return completedDepth;
+	}
+
+	/**
+	 * Get score of the best move of the last completed pass
+	 *
+	 * @return
+	 */
+	int getScore() {
+		return score;
+	}
+
+	/**
+	 * Get best move of the last completed pass
+	 *
+	 * @return
+	 */
+	long getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * Makes the given move of the given player on the given position,
+	 * searches the resulting position, then unmakes the move. Returns the
+	 * score from the view of the given player.
+	 *
+	 * @param thread
+	 * @param position
+	 * @param split
+	 * @param move
+	 * @param player
+	 * @param depth
+	 * @param ply
+	 * @param alpha
+	 * @param beta
+	 * @return
+	 */
+	private int searchMove(SplitThread thread, Position position, Split split,
+			long move, int player, int depth, int ply, int alpha, int beta) {
+		long undo = position.makeMove(move, engine.getGameType());
+		int value;
+		if (position.getPlayerTurn() == player) {
+			// The same player moves again, such as once the game is over.
+			value = search(thread, position, split, depth, ply + 1, alpha, beta);
+		} else {
+			value = -search(thread, position, split, depth - 1, ply + 1, -beta,
+					-alpha);
+		}
+		position.unmakeMove(move, undo);
+		return value;
+	}
+
+	/**
+	 * Searches and returns the score of the given position from the view of
+	 * the player to move, within the given alpha-beta window. The given split
+	 * is the nearest split node above the position, or null if none.
+	 *
+	 * @param thread
+	 * @param position
+	 * @param split
+	 * @param depth
+	 * @param ply
+	 * @param alpha
+	 * @param beta
+	 * @return
+	 */
+	private int search(SplitThread thread, Position position, Split split,
+			int depth, int ply, int alpha, int beta) {
+		thread.nodes++;
+		if (thread.nodes % CHECK_INTERVAL == 0) {
+			// Other threads read the count while checking the budget.
+			thread.publishedNodes = thread.nodes;
+			engine.checkLimits(completedDepth);
+		}
+		if (engine.isStopped() || (split != null && split.isAborted())) {
+			return 0;
+		}
+		// A player has run out of pieces.
+		if (position.getPlayerOne() == 0 || position.getPlayerTwo() == 0) {
+			return engine.getEvaluator().getTerminalScore(position,
+					engine.getGameType(), ply);
+		}
+		// Use a stored result that is deep enough, if it is within bounds.
+		TranspositionTable table = engine.getTable();
+		long key = position.getKey();
+		long entry = depth > 0 ? table.probe(key) : 0;
+		if (entry != 0 && TranspositionTable.getDepth(entry) >= depth) {
+			int value = SearchWorker.fromTable(
+					TranspositionTable.getScore(entry), ply);
+			int bound = TranspositionTable.getBound(entry);
+			if (bound == TranspositionTable.BOUND_EXACT
+					|| (bound == TranspositionTable.BOUND_LOWER
+							&& value >= beta)
+					|| (bound == TranspositionTable.BOUND_UPPER
+							&& value <= alpha)) {
+				return value;
+			}
+		}
+		int player = position.getPlayerTurn();
+		MoveList moves = thread.pushMoves();
+		thread.moveGenerator.generatePaths(position, engine.getGameType(),
+				engine.isForceJumps(), moves);
+		// If no moves are available, the opposing player wins.
+		if (moves.isEmpty()) {
+			thread.popMoves();
+			return -Evaluator.WIN_SCORE + ply;
+		}
+		if (ply >= SearchWorker.MAX_PLY
+				|| (depth <= 0 && !engine.getSettings().isQuiescence())) {
+			thread.popMoves();
+			return engine.getEvaluator().evaluate(position,
+					engine.getGameType());
+		}
+		if (depth <= 0) {
+			int value = quiesce(thread, position, split, moves, ply, alpha,
+					beta);
+			thread.popMoves();
+			return value;
+		}
+		if (engine.getSettings().isMoveOrdering()) {
+			thread.ordering.order(position, moves, entry, ply);
+		} else {
+			SearchWorker.orderTableMove(moves, entry);
+		}
+		int alphaStart = alpha;
+		// The first move is searched alone.
+		long bestMove = moves.get(0);
+		int best = searchMove(thread, position, split, bestMove, player, depth,
+				ply, alpha, beta);
+		alpha = Math.max(alpha, best);
+		if (alpha >= beta) {
+			thread.ordering.cutoff(bestMove, 0, depth, ply);
+			thread.popMoves();
+		} else if (moves.size() > 1) {
+			if (depth >= SPLIT_DEPTH) {
+				Split node = new Split(split, alpha);
+				SplitTask[] tasks = new SplitTask[moves.size() - 1];
+				for (int i = 0; i < tasks.length; i++) {
+					tasks[i] = new SplitTask(node, position, moves.get(i + 1),
+							player, depth, ply, beta);
+				}
+				thread.popMoves();
+				int index = splitMoves(node, tasks, best, beta);
+				if (index >= 0) {
+					best = tasks[index].value;
+					bestMove = tasks[index].move;
+					if (best >= beta) {
+						thread.ordering.cutoff(bestMove, index + 1, depth, ply);
+					}
+				}
+			} else {
+				for (int i = 1; i < moves.size(); i++) {
+					long move = moves.get(i);
+					int value = searchMove(thread, position, split, move,
+							player, depth, ply, alpha, beta);
+					if (value > best) {
+						best = value;
+						bestMove = move;
+						if (value > alpha) {
+							alpha = value;
+							if (alpha >= beta) {
+								thread.ordering.cutoff(move, i, depth, ply);
+								break;
+							}
+						}
+					}
+				}
+				thread.popMoves();
+			}
+		} else {
+			thread.popMoves();
+		}
+		if (!engine.isStopped() && (split == null || !split.isAborted())) {
+			int bound = TranspositionTable.BOUND_EXACT;
+			if (best <= alphaStart) {
+				bound = TranspositionTable.BOUND_UPPER;
+			} else if (best >= beta) {
+				bound = TranspositionTable.BOUND_LOWER;
+			}
+			table.store(key, depth, bound, SearchWorker.toTable(best, ply),
+					bestMove);
+		}
+		return best;
+	}
+
+	/**
+	 * Searches only the jumps of the given moves of the given position, as in
+	 * SearchWorker.
+	 *
+	 * @param thread
+	 * @param position
+	 * @param split
+	 * @param moves
+	 * @param ply
+	 * @param alpha
+	 * @param beta
+	 * @return
+	 */
+	private int quiesce(SplitThread thread, Position position, Split split,
+			MoveList moves, int ply, int alpha, int beta) {
+		int player = position.getPlayerTurn();
+		// Forced jumps are generated without any steps.
+		boolean forced = position.getContinueSquare() >= 0
+				|| (engine.isForceJumps() && Move.isJump(moves.get(0)));
+		int best = -SearchWorker.INFINITY;
+		if (!forced) {
+			best = engine.getEvaluator().evaluate(position,
+					engine.getGameType());
+			if (best >= beta) {
+				return best;
+			}
+			alpha = Math.max(alpha, best);
+		}
+		if (engine.getSettings().isMoveOrdering()) {
+			thread.ordering.order(position, moves, 0, ply);
+		}
+		for (int i = 0; i < moves.size(); i++) {
+			long move = moves.get(i);
+			if (!Move.isJump(move)) {
+				continue;
+			}
+			int value = searchMove(thread, position, split, move, player, 0,
+					ply, alpha, beta);
+			if (value > best) {
+				best = value;
+				if (value > alpha) {
+					alpha = value;
+					if (alpha >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Forks the given tasks of the moves of a split node, and joins them in
+	 * order. The first score beyond the given beta bound aborts the split
+	 * node, and the tasks not yet started are cancelled. Returns the index of
+	 * the task with a score greater than the given best score, or -1 if none.
+	 *
+	 * @param node
+	 * @param tasks
+	 * @param best
+	 * @param beta
+	 * @return
+	 */
+	private int splitMoves(Split node, SplitTask[] tasks, int best, int beta) {
+		// Forked last, the first task is run first by this thread.
+		for (int i = tasks.length - 1; i >= 0; i--) {
+			tasks[i].fork();
+		}
+		int index = -1;
+		for (int i = 0; i < tasks.length; i++) {
+			SplitTask task = tasks[i];
+			task.quietlyJoin();
+			if (node.aborted || !task.isCompletedNormally()) {
+				continue;
+			}
+			if (task.value > best) {
+				best = task.value;
+				index = i;
+				if (best >= beta) {
+					node.aborted = true;
+					for (int j = i + 1; j < tasks.length; j++) {
+						tasks[j].cancel(false);
+					}
+				} else if (best > node.alpha) {
+					node.alpha = best;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Node whose moves are split between threads. Tasks below an aborted node
+	 * return at once, and their scores are not used.
+	 */
+	private static class Split {
+
+		// Nearest split node above this node, null if none
+		private final Split parent;
+		// Has a move of the node been beyond the beta bound?
+		private volatile boolean aborted;
+		// Best score found so far, which later tasks search above
+		private volatile int alpha;
+
+		Split(Split parent, int alpha) {
+			this.parent = parent;
+			this.alpha = alpha;
+		}
+
+		/**
+		 * Returns if this node or a split node above it has been aborted.
+		 *
+		 * @return
+		 */
+		boolean isAborted() {
+			for (Split node = this; node != null; node = node.parent) {
+				if (node.aborted) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Task that searches one move of a split node on its own copy of the
+	 * position.
+	 */
+	private class SplitTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		// Split node of the move
+		private final Split node;
+		// Copy of the position of the split node
+		private final Position position;
+		// Move searched, its player, and the depth, ply and beta bound of the
+		// split node
+		private final long move;
+		private final int player;
+		private final int depth;
+		private final int ply;
+		private final int beta;
+		// Score of the move, from the view of its player
+		private int value;
+
+		SplitTask(Split node, Position position, long move, int player,
+				int depth, int ply, int beta) {
+			this.node = node;
+			this.position = position.copy();
+			this.move = move;
+			this.player = player;
+			this.depth = depth;
+			this.ply = ply;
+			this.beta = beta;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (!node.isAborted()) {
+				value = searchMove((SplitThread) Thread.currentThread(),
+						position, node, move, player, depth, ply, node.alpha,
+						beta);
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Task that searches the root moves to a given depth, and returns the
+	 * index of the best move.
+	 */
+	private class RootTask extends RecursiveTask<Integer> {
+
+		private static final long serialVersionUID = 1L;
+
+		// Depth of the pass
+		private final int depth;
+		// Score of the best move
+		private int value;
+
+		RootTask(int depth) {
+			this.depth = depth;
+		}
+
+		@Override
+		protected Integer compute() {
+			SplitThread thread = (SplitThread) Thread.currentThread();
+			int player = position.getPlayerTurn();
+			// The first move is searched alone.
+			value = searchMove(thread, position, null, rootMoves.get(0), player,
+					depth, 0, -SearchWorker.INFINITY, SearchWorker.INFINITY);
+			if (rootMoves.size() == 1) {
+				return 0;
+			}
+			Split node = new Split(null, value);
+			SplitTask[] tasks = new SplitTask[rootMoves.size() - 1];
+			for (int i = 0; i < tasks.length; i++) {
+				tasks[i] = new SplitTask(node, position, rootMoves.get(i + 1),
+						player, depth, 0, SearchWorker.INFINITY);
+			}
+			int index = splitMoves(node, tasks, value, SearchWorker.INFINITY);
+			if (index < 0) {
+				return 0;
+			}
+			value = tasks[index].value;
+			return index + 1;
+		}
+	}
+
+	/**
+	 * Thread of the pool, with its own move generator and stack of move
+	 * lists. Tasks run by a thread while it waits to join another task use
+	 * the lists above those of the waiting task.
+	 */
+	private static class SplitThread extends ForkJoinWorkerThread {
+
+		// Generator used to find moves
+		private final MoveGenerator moveGenerator;
+		// Order of the moves of each node
+		private final MoveOrdering ordering;
+		// Stack of reusable move lists
+		private final ArrayList<MoveList> moveLists;
+		// Number of move lists in use
+		private int top;
+		// Number of positions visited by the current search
+		private long nodes;
+		// Count of positions visited as last published to other threads,
+		// every CHECK_INTERVAL nodes
+		private volatile long publishedNodes;
+
+		SplitThread(ForkJoinPool pool) {
+			super(pool);
+			this.moveGenerator = new MoveGenerator();
+			this.ordering = new MoveOrdering();
+			this.moveLists = new ArrayList<MoveList>();
+			this.top = 0;
+			this.nodes = 0;
+			this.publishedNodes = 0;
+		}
+
+		/**
+		 * Get and return the next move list of the stack.
+		 *
+		 * @return
+		 */
+		MoveList pushMoves() {
+			if (top == moveLists.size()) {
+				moveLists.add(new MoveList());
+			}
+			return moveLists.get(top++);
+		}
+
+		/**
+		 * Releases the move list at the top of the stack.
+		 */
+		void popMoves() {
+			top--;
+		}
+	}
+}
@@ -0,0 +1,246 @@
+package com.timothysinard.Checkers.core.engine;
+
+import java.util.Arrays;
+
+import com.timothysinard.Checkers.core.Move;
+
+/**
+ * Fixed-size table of search results keyed by the Zobrist key of a position.
+ * Each entry is a pair of longs: the packed data, and the key XOR the data.
+ * An entry is only used when the XOR of the pair gives back the key, so an
+ * entry torn by two threads writing at once is seen as a miss, and the table
+ * can be shared by search threads without locks.
+ *
+ * Entries are kept in buckets of two. The first entry of a bucket is replaced
+ * by deeper results, or results of the same position or of a newer search,
+ * and any other result replaces the second entry.
+ *
+ * Packed data holds the bound in bits 0 to 1, the depth in bits 2 to 9, the
+ * search generation in bits 10 to 17, the best move in bits 18 to 28 (a flag,
+ * then the source and destination squares) and the score in bits 32 to 51.
+ */
+public class TranspositionTable {
+
+	// Bound types of a stored score
+	public static final int BOUND_EXACT = 1;
+	public static final int BOUND_LOWER = 2;
+	public static final int BOUND_UPPER = 3;
+	// Size of a bucket, in bytes
+	private static final int BUCKET_BYTES = 32;
+	// Number of longs of a bucket
+	private static final int BUCKET_LONGS = 4;
+	// Largest number of buckets, within the limit of an array
+	private static final long MAX_BUCKETS = 1L << 28;
+	// Bit offsets of the packed data fields
+	private static final int DEPTH_SHIFT = 2;
+	private static final int GENERATION_SHIFT = 10;
+	private static final int MOVE_SHIFT = 18;
+	private static final int SRC_SHIFT = 19;
+	private static final int DEST_SHIFT = 24;
+	private static final int SCORE_SHIFT = 32;
+	// Number of entries sampled to estimate usage
+	private static final int USAGE_SAMPLE = 1000;
+
+	// Buckets of entry pairs
+	private final long[] table;
+	// Mask of the bucket index bits of a key
+	private final long bucketMask;
+	// Size of the table, in megabytes
+	private final int megabytes;
+	// Generation of the current search, used to replace old entries
+	private volatile int generation;
+
+	public TranspositionTable(int megabytes) {
+		this.megabytes = megabytes;
+		long buckets = Math.max(1, (long) megabytes * 1024 * 1024
+				/ BUCKET_BYTES);
+		// Round down to a power of two.
+		buckets = Math.min(Long.highestOneBit(buckets), MAX_BUCKETS);
+		this.table = new long[(int) buckets * BUCKET_LONGS];
+		this.bucketMask = buckets - 1;
+		this.generation = 0;
+	}
+
+	/**
+	 * Get and return the packed data stored for the given key, or 0 if none.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public long probe(long key) {
+		int index = (int) (key & bucketMask) * BUCKET_LONGS;
+		for (int i = index; i < index + BUCKET_LONGS; i += 2) {
+			long data = table[i + 1];
+			if (data != 0 && (table[i] ^ data) == key) {
+				return data;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Stores the given search result for the given key, with the source and
+	 * destination of the given packed best move. Move.NONE stores no move,
+	 * and keeps any move already stored for the key.
+	 *
+	 * @param key
+	 * @param depth
+	 * @param bound
+	 * @param score
+	 * @param move
+	 */
+	public void store(long key, int depth, int bound, int score, long move) {
+		int index = (int) (key & bucketMask) * BUCKET_LONGS;
+		long first = table[index + 1];
+		long firstKey = table[index] ^ first;
+		// Depth-preferred entry, otherwise the always-replaced entry.
+		if (first != 0 && firstKey != key && depth < getDepth(first)
+				&& getGeneration(first) == generation) {
+			index += 2;
+		}
+		int src = -1;
+		int dest = -1;
+		if (move != Move.NONE) {
+			src = Move.getSrc(move);
+			dest = Move.getDest(move);
+		} else {
+			long old = table[index + 1];
+			if (old != 0 && (table[index] ^ old) == key && hasMove(old)) {
+				src = getMoveSrc(old);
+				dest = getMoveDest(old);
+			}
+		}
+		long data = bound
+				| ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT)
+				| ((long) generation << GENERATION_SHIFT)
+				| ((long) (score & 0xFFFFF) << SCORE_SHIFT);
+		if (src >= 0) {
+			data |= (1L << MOVE_SHIFT) | ((long) src << SRC_SHIFT)
+					| ((long) dest << DEST_SHIFT);
+		}
+		table[index] = key ^ data;
+		table[index + 1] = data;
+	}
+
+	/**
+	 * Starts a new search, so entries of older searches are replaced first.
+	 */
+	public void newSearch() {
+		generation = (generation + 1) & 0xFF;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		Arrays.fill(table, 0);
+	}
+
+	/**
+	 * Get and return the estimated share of entries used by the current
+	 * search, in permille.
+	 *
+	 * @return
+	 */
+	public int getUsage() {
+		int entries = Math.min(USAGE_SAMPLE, table.length / 2);
+		int used = 0;
+		for (int i = 0; i < entries; i++) {
+			long data = table[i * 2 + 1];
+			if (data != 0 && getGeneration(data) == generation) {
+				used++;
+			}
+		}
+		return used * 1000 / entries;
+	}
+
+	/**
+	 * Get size of the table, in megabytes
+	 *
+	 * @return
+	 */
+	public int getMegabytes() {
+		return megabytes;
+	}
+
+	/**
+	 * Get number of entries of the table
+	 *
+	 * @return
+	 */
+	public int getEntries() {
+		return table.length / 2;
+	}
+
+	/**
+	 * Get and return the depth of the given packed data.
+	 *
+	 * @param data
+	 * @return
+	 */
+	public static int getDepth(long data) {
+		return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+	}
+
+	/**
+	 * Get and return the bound type of the given packed data.
+	 *
+	 * @param data
+	 * @return
+	 */
+	public static int getBound(long data) {
+		return (int) data & 3;
+	}
+
+	/**
+	 * Get and return the score of the given packed data.
+	 *
+	 * @param data
+	 * @return
+	 */
+	public static int getScore(long data) {
+		return (int) (data << (44 - SCORE_SHIFT) >> 44);
+	}
+
+	/**
+	 * Returns if the given packed data holds a best move.
+	 *
+	 * @param data
+	 * @return
+	 */
+	public static boolean hasMove(long data) {
+		return (data & (1L << MOVE_SHIFT)) != 0;
+	}
+
+	/**
+	 * Get and return the source square of the best move of the given packed
+	 * data.
+	 *
+	 * @param data
+	 * @return
+	 */
+	public static int getMoveSrc(long data) {
+		return (int) (data >>> SRC_SHIFT) & 0x1F;
+	}
+
+	/**
+	 * Get and return the destination square of the best move of the given
+	 * packed data.
+	 *
+	 * @param data
+	 * @return
+	 */
+	public static int getMoveDest(long data) {
+		return (int) (data >>> DEST_SHIFT) & 0x1F;
+	}
+
+	/**
+	 * Get and return the search generation of the given packed data.
+	 *
+	 * @param data
+	 * @return
+	 */
+	private static int getGeneration(long data) {
+		return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+	}
+}
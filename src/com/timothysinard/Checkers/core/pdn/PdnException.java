@@ -0,0 +1,13 @@
+package com.timothysinard.Checkers.core.pdn;
+
+/**
+ * Thrown when PDN text cannot be parsed, or a parsed move cannot be played.
+ */
+public class PdnException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public PdnException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,291 @@
+package com.timothysinard.Checkers.core.pdn;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.timothysinard.Checkers.core.BlockOccupant;
+import com.timothysinard.Checkers.core.CheckersBoard;
+import com.timothysinard.Checkers.core.CheckersGame;
+import com.timothysinard.Checkers.core.GameOpponent;
+import com.timothysinard.Checkers.core.GameType;
+import com.timothysinard.Checkers.core.Move;
+import com.timothysinard.Checkers.core.MoveData;
+import com.timothysinard.Checkers.core.MoveHistoryView;
+import com.timothysinard.Checkers.core.MoveList;
+import com.timothysinard.Checkers.core.Position;
+import com.timothysinard.Checkers.core.Rules;
+
+/**
+ * A game record in PDN: its tag pairs, in order, its moves, packed as in
+ * PdnMove, and its result. Records are read and written by PdnReader and
+ * PdnWriter, are replayed into a CheckersGame, and are built from the moves
+ * made in one.
+ */
+public class PdnGame {
+
+	// Results, scored for player 1 first
+	public static final String RESULT_PLAYER_WINS = "1-0";
+	public static final String RESULT_PLAYER2_WINS = "0-1";
+	public static final String RESULT_DRAW = "1/2-1/2";
+	public static final String RESULT_UNKNOWN = "*";
+	// Tag names used by the record
+	public static final String TAG_GAME_TYPE = "GameType";
+	public static final String TAG_VARIANT = "Variant";
+	public static final String TAG_RESULT = "Result";
+	public static final String TAG_FEN = "FEN";
+	// PDN game type number of English draughts
+	public static final String ENGLISH_DRAUGHTS = "21";
+
+	// Tag pairs, in the order read or set
+	private final LinkedHashMap<String, String> tags;
+	// Packed PDN moves, one per player turn
+	private final MoveList moves;
+	// Result ending the movetext
+	private String result;
+
+	public PdnGame() {
+		this.tags = new LinkedHashMap<String, String>();
+		this.moves = new MoveList();
+		this.result = RESULT_UNKNOWN;
+	}
+
+	/**
+	 * Get the value of the given tag, or null if not set
+	 *
+	 * @param name
+	 * @return
+	 */
+	public String getTag(String name) {
+		return tags.get(name);
+	}
+
+	/**
+	 * Sets the value of the given tag, keeping its place if already set
+	 *
+	 * @param name
+	 * @param value
+	 */
+	public void setTag(String name, String value) {
+		tags.put(name, value);
+	}
+
+	/**
+	 * Get the tag pairs, in order
+	 *
+	 * @return
+	 */
+	public Map<String, String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Get the packed PDN moves
+	 *
+	 * @return
+	 */
+	public MoveList getMoves() {
+		return moves;
+	}
+
+	/**
+	 * Adds the given packed PDN move to the end of the moves.
+	 *
+	 * @param move
+	 */
+	public void addMove(long move) {
+		moves.add(move);
+	}
+
+	/**
+	 * Get the result ending the movetext
+	 *
+	 * @return
+	 */
+	public String getResult() {
+		return result;
+	}
+
+	/**
+	 * Set the result ending the movetext
+	 *
+	 * @param result
+	 */
+	public void setResult(String result) {
+		this.result = result;
+	}
+
+	/**
+	 * Get and return the game type of the Variant tag, Regular if not set or
+	 * not known.
+	 *
+	 * @return
+	 */
+	public GameType getGameType() {
+		String variant = getTag(TAG_VARIANT);
+		for (GameType type : GameType.values()) {
+			if (type.toString().equals(variant)) {
+				return type;
+			}
+		}
+		return GameType.REGULAR;
+	}
+
+	/**
+	 * Plays the moves of the record in the given game, from its starting
+	 * position, and returns the jumps and steps made, in order. Each move is
+	 * played one step or jump at a time through CheckersGame.move, as a player
+	 * would. A jump-series given only by some of its squares is found among
+	 * the jump-series between them. The game must be a two-player game, so no
+	 * AI moves in reply.
+	 *
+	 * @param game
+	 * @return
+	 */
+	public ArrayList<MoveData> replay(CheckersGame game) {
+		if (game.getGameOpponent() != GameOpponent.PLAYER) {
+			throw new IllegalArgumentException(
+					"Games are only replayed into a two-player game");
+		}
+		if (game.getGameBoard().getPosition().getKey() != new Position()
+				.getKey()) {
+			throw new IllegalArgumentException(
+					"Games are only replayed from the starting position");
+		}
+		if (getTag(TAG_FEN) != null) {
+			throw new PdnException("Games from a set-up position cannot be"
+					+ " replayed");
+		}
+		ArrayList<MoveData> made = new ArrayList<MoveData>();
+		Rules rules = new Rules(game.getGameType(), false);
+		MoveList found = new MoveList();
+		MoveList jumps = new MoveList();
+		for (int i = 0; i < moves.size(); i++) {
+			long move = moves.get(i);
+			for (int j = 1; j < PdnMove.getSquareCount(move); j++) {
+				int src = PdnMove.getSquare(move, j - 1);
+				int dest = PdnMove.getSquare(move, j);
+				findJumps(game, rules, src, dest, found, jumps);
+				if (jumps.isEmpty()) {
+					throw new PdnException("Illegal move " + (i / 2 + 1)
+							+ ": " + PdnMove.toString(move));
+				}
+				play(game, jumps, made, i, move);
+			}
+		}
+		return made;
+	}
+
+	/**
+	 * Writes to the given list the steps or jumps, made one at a time, from
+	 * the given source square to the given destination square in the given
+	 * game. A single step or jump is preferred, then the first jump-series
+	 * between the squares. The list is left empty if there is no such move.
+	 *
+	 * @param game
+	 * @param rules
+	 * @param src
+	 * @param dest
+	 * @param found
+	 * @param jumps
+	 */
+	private static void findJumps(CheckersGame game, Rules rules, int src,
+			int dest, MoveList found, MoveList jumps) {
+		jumps.clear();
+		Position position = game.getGameBoard().getPosition();
+		rules.getMoves(position, found);
+		int index = found.indexOf(src, dest);
+		if (index >= 0) {
+			jumps.add(found.get(index));
+			return;
+		}
+		rules.getPaths(position, found);
+		for (int i = 0; i < found.size(); i++) {
+			long path = found.get(i);
+			if (Move.isJump(path) && Move.getSrc(path) == src
+					&& Move.getDest(path) == dest) {
+				position.getJumps(path, game.getGameType(), jumps);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Makes the given steps or jumps in the given game, adding their MoveData
+	 * to the given list.
+	 *
+	 * @param game
+	 * @param jumps
+	 * @param made
+	 * @param ply
+	 * @param move
+	 */
+	private static void play(CheckersGame game, MoveList jumps,
+			ArrayList<MoveData> made, int ply, long move) {
+		CheckersBoard board = game.getGameBoard();
+		for (int i = 0; i < jumps.size(); i++) {
+			long jump = jumps.get(i);
+			MoveData data = game.toMoveData(jump);
+			if (!game.move(board.getBlock(Move.getSrc(jump)),
+					board.getBlock(Move.getDest(jump)))) {
+				throw new PdnException("Illegal move " + (ply / 2 + 1) + ": "
+						+ PdnMove.toString(move));
+			}
+			made.add(data);
+		}
+	}
+
+	/**
+	 * Creates and returns a record of the moves made in the given game, from
+	 * its start. Steps and jumps are grouped into one move per player turn,
+	 * and the result is set if the game is over.
+	 *
+	 * @param game
+	 * @return
+	 */
+	public static PdnGame fromGame(CheckersGame game) {
+		MoveHistoryView history = game.getGameHistory();
+		if (history.isTruncated()) {
+			throw new PdnException("The oldest moves of the game were dropped"
+					+ " from its history");
+		}
+		PdnGame record = new PdnGame();
+		record.setTag(TAG_GAME_TYPE, ENGLISH_DRAUGHTS);
+		if (game.getGameType() != GameType.REGULAR) {
+			record.setTag(TAG_VARIANT, game.getGameType().toString());
+		}
+		int[] squares = new int[Position.SQUARES];
+		int count = 0;
+		long last = Move.NONE;
+		for (int i = 0; i < history.size(); i++) {
+			long hop = history.getMove(i);
+			// A jump continuing from the last jump is part of its series.
+			boolean continues = last != Move.NONE && Move.isJump(last)
+					&& Move.isJump(hop) && !Move.isPromotion(last)
+					&& Move.getSrc(hop) == Move.getDest(last);
+			if (!continues) {
+				if (count > 0) {
+					record.addMove(PdnMove.encode(squares, count));
+				}
+				squares[0] = Move.getSrc(hop);
+				count = 1;
+			}
+			squares[count++] = Move.getDest(hop);
+			last = hop;
+		}
+		if (count > 0) {
+			record.addMove(PdnMove.encode(squares, count));
+		}
+		if (game.isGameOver()) {
+			BlockOccupant winner = new Rules(game.getGameType(), false)
+					.getWinner(game.getGameBoard().getPosition());
+			if (winner == BlockOccupant.PLAYER) {
+				record.setResult(RESULT_PLAYER_WINS);
+			} else if (winner == BlockOccupant.PLAYER2) {
+				record.setResult(RESULT_PLAYER2_WINS);
+			}
+		}
+		record.setTag(TAG_RESULT, record.getResult());
+		return record;
+	}
+}
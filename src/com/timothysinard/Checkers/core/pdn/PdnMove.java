@@ -0,0 +1,142 @@
+package com.timothysinard.Checkers.core.pdn;
+
+import com.timothysinard.Checkers.core.Position;
+
+/**
+ * Static helpers for PDN moves packed into a single long value. A PDN move is
+ * the squares a piece passes through in one turn: the source and destination
+ * of a step, or the source, each landing square and the destination of a
+ * jump-series, which may be abbreviated to its source and destination. Bits 0
+ * to 3 hold the number of squares, and each square, as a square index, takes
+ * the next 5 bits, so up to 12 squares are held. PDN numbers the squares from
+ * 1, with square 1 being square index 0, on the side of player 1, who moves
+ * first as Black.
+ */
+public final class PdnMove {
+
+	// Most squares held by a packed move
+	public static final int MAX_SQUARES = 12;
+	// Bits of the number of squares, and of each square
+	private static final int COUNT_BITS = 4;
+	private static final int SQUARE_BITS = 5;
+	// Mask of the number of squares, and of a square field
+	private static final int COUNT_MASK = 0xF;
+	private static final int SQUARE_MASK = 0x1F;
+
+	private PdnMove() {
+	}
+
+	/**
+	 * Packs and returns a move through the first given number of the given
+	 * square indices. A move through more than MAX_SQUARES squares is
+	 * abbreviated to its first and last square.
+	 *
+	 * @param squares
+	 * @param count
+	 * @return
+	 */
+	public static long encode(int[] squares, int count) {
+		if (count < 2) {
+			throw new IllegalArgumentException(
+					"A move passes through at least 2 squares: " + count);
+		}
+		if (count > MAX_SQUARES) {
+			return encode(squares[0], squares[count - 1]);
+		}
+		long move = count;
+		for (int i = 0; i < count; i++) {
+			move |= (long) squares[i] << (COUNT_BITS + i * SQUARE_BITS);
+		}
+		return move;
+	}
+
+	/**
+	 * Packs and returns a move from the given source square index to the given
+	 * destination square index.
+	 *
+	 * @param src
+	 * @param dest
+	 * @return
+	 */
+	public static long encode(int src, int dest) {
+		return 2 | ((long) src << COUNT_BITS)
+				| ((long) dest << (COUNT_BITS + SQUARE_BITS));
+	}
+
+	/**
+	 * Get the number of squares the given move passes through
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static int getSquareCount(long move) {
+		return (int) move & COUNT_MASK;
+	}
+
+	/**
+	 * Get the square index at the given index of the given move, 0 being the
+	 * source
+	 *
+	 * @param move
+	 * @param index
+	 * @return
+	 */
+	public static int getSquare(long move, int index) {
+		return (int) (move >>> (COUNT_BITS + index * SQUARE_BITS))
+				& SQUARE_MASK;
+	}
+
+	/**
+	 * Get the source square index of the given move
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static int getSrc(long move) {
+		return getSquare(move, 0);
+	}
+
+	/**
+	 * Get the destination square index of the given move
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static int getDest(long move) {
+		return getSquare(move, getSquareCount(move) - 1);
+	}
+
+	/**
+	 * Returns if the given move captures. A step moves exactly one row, and
+	 * each jump moves two, so any other move is a jump-series.
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static boolean isCapture(long move) {
+		if (getSquareCount(move) > 2) {
+			return true;
+		}
+		int rows = Position.getGridY(getSrc(move))
+				- Position.getGridY(getDest(move));
+		return rows != 1 && rows != -1;
+	}
+
+	/**
+	 * Get and return the given move in PDN, such as "11-15" or "15x24x31".
+	 *
+	 * @param move
+	 * @return
+	 */
+	public static String toString(long move) {
+		char separator = isCapture(move) ? 'x' : '-';
+		StringBuilder str = new StringBuilder();
+		for (int i = 0; i < getSquareCount(move); i++) {
+			if (i > 0) {
+				str.append(separator);
+			}
+			str.append(getSquare(move, i) + 1);
+		}
+		return str.toString();
+	}
+}
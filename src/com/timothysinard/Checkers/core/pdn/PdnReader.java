@@ -0,0 +1,364 @@
+package com.timothysinard.Checkers.core.pdn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import com.timothysinard.Checkers.core.Position;
+import com.timothysinard.Checkers.utils.FileIOException;
+
+/**
+ * Reads PDN game records one at a time from a channel. Bytes are read through
+ * a buffer of fixed size and parsed as they are read, and only the record
+ * being read is kept, so an archive of any size is read in constant memory.
+ * Comments, side lines, annotations and move numbers are skipped without
+ * being stored. Each byte is read as the character of the same value, so text
+ * in any encoding is written back unchanged by a PdnWriter.
+ */
+public class PdnReader implements Closeable {
+
+	// Default size, in bytes, of the read buffer
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+	// Longest token or tag value read, in characters
+	private static final int MAX_TOKEN = 4096;
+	// No character, at the end of the channel
+	private static final int EOF = -1;
+
+	// Channel the records are read from
+	private final ReadableByteChannel channel;
+	// Bytes read from the channel, not yet parsed
+	private final ByteBuffer buffer;
+	// Characters of the token being read
+	private final char[] token;
+	// Square indices of the move being read
+	private final int[] squares;
+	// Character put back to be read again, EOF if none
+	private int pushback;
+	// Line being read, from 1, for error messages
+	private int line;
+	// Has the end of the channel been reached?
+	private boolean ended;
+
+	public PdnReader(ReadableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+
+	public PdnReader(ReadableByteChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.buffer.flip();
+		this.token = new char[MAX_TOKEN];
+		this.squares = new int[Position.SQUARES];
+		this.pushback = EOF;
+		this.line = 1;
+		this.ended = false;
+	}
+
+	/**
+	 * Reads and returns the next game record, or null at the end of the
+	 * channel. A record ends at its result, or where the tags of the next
+	 * record begin.
+	 *
+	 * @return
+	 */
+	public PdnGame next() {
+		PdnGame game = null;
+		boolean movetext = false;
+		int c;
+		while ((c = skipSpace()) != EOF) {
+			if (c == '[') {
+				if (movetext) {
+					// The next record begins without a result.
+					pushback = c;
+					return game;
+				}
+				if (game == null) {
+					game = new PdnGame();
+				}
+				readTag(game);
+			} else if (c == '{') {
+				skipComment();
+			} else if (c == '(') {
+				skipVariation();
+			} else if (c == ';' || c == '%') {
+				skipLine();
+			} else {
+				if (game == null) {
+					game = new PdnGame();
+				}
+				movetext = true;
+				if (readToken(c, game)) {
+					return game;
+				}
+			}
+		}
+		return game;
+	}
+
+	/**
+	 * Closes the channel.
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+	}
+
+	/**
+	 * Reads a tag pair, after its opening bracket, into the given record.
+	 *
+	 * @param game
+	 */
+	private void readTag(PdnGame game) {
+		int length = 0;
+		int c = skipSpace();
+		while (c != EOF && c != '"' && c != ']' && !Character.isWhitespace(c)) {
+			length = append(length, c);
+			c = read();
+		}
+		String name = new String(token, 0, length);
+		if (Character.isWhitespace(c)) {
+			c = skipSpace();
+		}
+		if (c != '"') {
+			throw error("Expected a value for tag " + name);
+		}
+		length = 0;
+		c = read();
+		while (c != '"') {
+			if (c == EOF) {
+				throw error("Unterminated value of tag " + name);
+			}
+			if (c == '\\') {
+				c = read();
+			}
+			length = append(length, c);
+			c = read();
+		}
+		String value = new String(token, 0, length);
+		if (skipSpace() != ']') {
+			throw error("Expected ] after tag " + name);
+		}
+		game.setTag(name, value);
+	}
+
+	/**
+	 * Reads a token of the movetext beginning with the given character, and
+	 * adds its move or sets its result on the given record. Returns true if
+	 * the token is the result, ending the record.
+	 *
+	 * @param c
+	 * @param game
+	 * @return
+	 */
+	private boolean readToken(int c, PdnGame game) {
+		int length = 0;
+		while (c != EOF && !Character.isWhitespace(c) && c != '['
+				&& c != '{' && c != '(' && c != ';') {
+			length = append(length, c);
+			c = read();
+		}
+		if (c != EOF && !Character.isWhitespace(c)) {
+			pushback = c;
+		}
+		if (isResult(length)) {
+			game.setResult(new String(token, 0, length));
+			return true;
+		}
+		int start = 0;
+		if (token[0] == '$') {
+			// Numeric annotation
+			return false;
+		}
+		// Move number, such as "12." or "12...", possibly before a move
+		while (start < length && Character.isDigit(token[start])) {
+			start++;
+		}
+		if (start < length && token[start] == '.') {
+			while (start < length && token[start] == '.') {
+				start++;
+			}
+		} else {
+			start = 0;
+		}
+		// Annotation, such as "!" or "?!", after a move
+		while (length > start
+				&& (token[length - 1] == '!' || token[length - 1] == '?')) {
+			length--;
+		}
+		if (start < length) {
+			game.addMove(parseMove(start, length));
+		}
+		return false;
+	}
+
+	/**
+	 * Parses and returns the packed move of the token between the given
+	 * indices, such as "11-15" or "15x24x31".
+	 *
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	private long parseMove(int start, int end) {
+		int count = 0;
+		int i = start;
+		while (true) {
+			int square = 0;
+			int digits = 0;
+			while (i < end && Character.isDigit(token[i]) && digits < 3) {
+				square = square * 10 + token[i++] - '0';
+				digits++;
+			}
+			if (digits == 0 || square < 1 || square > Position.SQUARES
+					|| count == squares.length) {
+				throw error("Invalid move " + new String(token, start,
+						end - start));
+			}
+			squares[count++] = square - 1;
+			if (i == end) {
+				break;
+			}
+			char separator = token[i++];
+			if (separator != '-' && separator != 'x' && separator != ':') {
+				throw error("Invalid move " + new String(token, start,
+						end - start));
+			}
+		}
+		if (count < 2) {
+			throw error("Invalid move " + new String(token, start,
+					end - start));
+		}
+		return PdnMove.encode(squares, count);
+	}
+
+	/**
+	 * Returns if the token of the given length is a result.
+	 *
+	 * @param length
+	 * @return
+	 */
+	private boolean isResult(int length) {
+		String str = new String(token, 0, length);
+		return str.equals(PdnGame.RESULT_UNKNOWN)
+				|| str.equals(PdnGame.RESULT_PLAYER_WINS)
+				|| str.equals(PdnGame.RESULT_PLAYER2_WINS)
+				|| str.equals(PdnGame.RESULT_DRAW) || str.equals("2-0")
+				|| str.equals("0-2") || str.equals("1-1")
+				|| str.equals("0-0");
+	}
+
+	/**
+	 * Skips a comment, after its opening brace.
+	 */
+	private void skipComment() {
+		int c;
+		while ((c = read()) != '}') {
+			if (c == EOF) {
+				throw error("Unterminated comment");
+			}
+		}
+	}
+
+	/**
+	 * Skips a side line, after its opening parenthesis, with any side lines
+	 * and comments within it.
+	 */
+	private void skipVariation() {
+		int depth = 1;
+		while (depth > 0) {
+			int c = read();
+			if (c == EOF) {
+				throw error("Unterminated variation");
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			} else if (c == '{') {
+				skipComment();
+			}
+		}
+	}
+
+	/**
+	 * Skips the rest of the line.
+	 */
+	private void skipLine() {
+		int c;
+		while ((c = read()) != '\n' && c != EOF) {
+		}
+	}
+
+	/**
+	 * Skips whitespace, and returns the next character, or EOF.
+	 *
+	 * @return
+	 */
+	private int skipSpace() {
+		int c;
+		while ((c = read()) != EOF && Character.isWhitespace(c)) {
+		}
+		return c;
+	}
+
+	/**
+	 * Adds the given character to the token at the given length, and returns
+	 * the new length.
+	 *
+	 * @param length
+	 * @param c
+	 * @return
+	 */
+	private int append(int length, int c) {
+		if (length == token.length) {
+			throw error("Token longer than " + token.length + " characters");
+		}
+		token[length] = (char) c;
+		return length + 1;
+	}
+
+	/**
+	 * Reads and returns the next character, or EOF at the end of the channel.
+	 *
+	 * @return
+	 */
+	private int read() {
+		if (pushback != EOF) {
+			int c = pushback;
+			pushback = EOF;
+			return c;
+		}
+		while (!buffer.hasRemaining()) {
+			if (ended) {
+				return EOF;
+			}
+			buffer.clear();
+			try {
+				ended = channel.read(buffer) < 0;
+			} catch (IOException ioe) {
+				throw new FileIOException("IO Error: " + ioe.getMessage());
+			}
+			buffer.flip();
+		}
+		int c = buffer.get() & 0xFF;
+		if (c == '\n') {
+			line++;
+		}
+		return c;
+	}
+
+	/**
+	 * Creates and returns an exception of the given message, at the current
+	 * line.
+	 *
+	 * @param message
+	 * @return
+	 */
+	private PdnException error(String message) {
+		return new PdnException(message + " on line " + line);
+	}
+}
@@ -0,0 +1,160 @@
+package com.timothysinard.Checkers.core.pdn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+
+import com.timothysinard.Checkers.core.MoveList;
+import com.timothysinard.Checkers.utils.FileIOException;
+
+/**
+ * Writes PDN game records one at a time to a channel. Text is written through
+ * a buffer of fixed size, which is written to the channel whenever it fills,
+ * so records of any number are written in constant memory. Each character is
+ * written as the byte of the same value, as PdnReader reads them; characters
+ * beyond one byte are written as '?'.
+ */
+public class PdnWriter implements Closeable {
+
+	// Default size, in bytes, of the write buffer
+	public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+	// Widest line of movetext, in characters
+	private static final int LINE_WIDTH = 79;
+
+	// Channel the records are written to
+	private final WritableByteChannel channel;
+	// Bytes not yet written to the channel
+	private final ByteBuffer buffer;
+	// Characters written on the current line
+	private int column;
+
+	public PdnWriter(WritableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+
+	public PdnWriter(WritableByteChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.column = 0;
+	}
+
+	/**
+	 * Writes the given record: its tag pairs, each on its own line, then its
+	 * numbered moves and result, wrapped to LINE_WIDTH, and a blank line.
+	 *
+	 * @param game
+	 */
+	public void write(PdnGame game) {
+		for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+			write("[" + tag.getKey() + " \"");
+			String value = tag.getValue();
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c == '"' || c == '\\') {
+					write('\\');
+				}
+				write(c);
+			}
+			write("\"]");
+			newLine();
+		}
+		if (!game.getTags().isEmpty()) {
+			newLine();
+		}
+		MoveList moves = game.getMoves();
+		for (int i = 0; i < moves.size(); i++) {
+			// Moves of player 1 are numbered.
+			if (i % 2 == 0) {
+				String number = (i / 2 + 1) + ".";
+				String move = PdnMove.toString(moves.get(i));
+				// Keep the number on the line of its move.
+				writeToken(number, number.length() + 1 + move.length());
+				writeToken(move, move.length());
+			} else {
+				String move = PdnMove.toString(moves.get(i));
+				writeToken(move, move.length());
+			}
+		}
+		writeToken(game.getResult(), game.getResult().length());
+		newLine();
+		newLine();
+	}
+
+	/**
+	 * Writes the buffered text to the channel.
+	 */
+	public void flush() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the buffered text, and closes the channel.
+	 */
+	@Override
+	public void close() {
+		flush();
+		try {
+			channel.close();
+		} catch (IOException ioe) {
+			throw new FileIOException("IO Error: " + ioe.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the given token of the movetext, beginning a new line first if
+	 * the given number of characters would not fit on the current line.
+	 *
+	 * @param token
+	 * @param width
+	 */
+	private void writeToken(String token, int width) {
+		if (column > 0 && column + 1 + width > LINE_WIDTH) {
+			newLine();
+		} else if (column > 0) {
+			write(' ');
+		}
+		write(token);
+	}
+
+	/**
+	 * Ends the current line.
+	 */
+	private void newLine() {
+		write('\n');
+		column = 0;
+	}
+
+	/**
+	 * Writes the given text.
+	 *
+	 * @param str
+	 */
+	private void write(String str) {
+		for (int i = 0; i < str.length(); i++) {
+			write(str.charAt(i));
+		}
+	}
+
+	/**
+	 * Writes the given character, writing the buffer first if it is full.
+	 *
+	 * @param c
+	 */
+	private void write(char c) {
+		if (!buffer.hasRemaining()) {
+			flush();
+		}
+		buffer.put((byte) (c > 0xFF ? '?' : c));
+		column++;
+	}
+}
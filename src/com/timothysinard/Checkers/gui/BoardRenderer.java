@@ -0,0 +1,253 @@
+package com.timothysinard.Checkers.gui;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import com.timothysinard.Checkers.core.Board;
+import com.timothysinard.Checkers.core.BlockOccupant;
+import com.timothysinard.Checkers.core.GameBlock;
+import com.timothysinard.Checkers.utils.ThemeManager;
+
+/**
+ * Drawable adapter of a rules Board. Draws the background, any graphics
+ * added to the board, then each block with the images of the current theme.
+ * The screen size of the blocks last drawn is kept, so a screen position can
+ * be mapped back to its block.
+ */
+public class BoardRenderer implements Drawable {
+
+	// Drawable ID
+	private final String id;
+	// Store the layer the board will be drawn
+	private final int layerZ;
+	// Board drawn, null if none
+	private Board board;
+	// Collection of drawable graphic objects drawn over the board
+	private final ArrayList<Drawable> graphics;
+	// Rescaled block width and height, as last drawn, 0 if not yet drawn
+	private double blockWidth;
+	private double blockHeight;
+
+	public BoardRenderer() {
+		this(null);
+	}
+
+	public BoardRenderer(Board board) {
+		this.id = "drawable-board";
+		this.layerZ = 0;
+		this.board = board;
+		this.graphics = new ArrayList<Drawable>();
+		this.blockWidth = 0;
+		this.blockHeight = 0;
+	}
+
+	/**
+	 * Get board drawn, null if none
+	 *
+	 * @return
+	 */
+	public Board getBoard() {
+		return board;
+	}
+
+	/**
+	 * Set board drawn
+	 *
+	 * @param board
+	 */
+	public void setBoard(Board board) {
+		this.board = board;
+	}
+
+	/**
+	 * Get collection of drawable graphics
+	 *
+	 * @return
+	 */
+	public ArrayList<Drawable> getGraphics() {
+		return graphics;
+	}
+
+	/**
+	 * Add drawable graphic to drawable collection.
+	 *
+	 * @param graphic
+	 */
+	public void addGraphic(Drawable graphic) {
+		graphics.add(graphic);
+	}
+
+	/**
+	 * Get and return the block drawn at the given screen position, or null if
+	 * none. Blocks are found by their size as last drawn.
+	 *
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	public GameBlock getBlockAt(int x, int y) {
+		if (board == null) {
+			return null;
+		}
+		int width = (int) Math.round(blockWidth);
+		int height = (int) Math.round(blockHeight);
+		for (int gridY = 0; gridY < board.getSizeY(); gridY++) {
+			for (int gridX = 0; gridX < board.getSizeX(); gridX++) {
+				int posX = (int) Math.round(blockWidth * gridX);
+				int posY = (int) Math.round(blockHeight * gridY);
+				if (x > posX && x < posX + width && y > posY
+						&& y < posY + height) {
+					return board.getPiece(gridX, gridY);
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String getID() {
+		return id;
+	}
+
+	@Override
+	public int getZ() {
+		return layerZ;
+	}
+
+	@Override
+	public void draw(Graphics2D g, ScreenData sd) {
+		if (board == null) {
+			return;
+		}
+
+		BufferedImage image = ThemeManager.getThemeManager().getImage(
+				"background");
+		if (image != null) {
+			// Draw rescaled image
+			g.drawImage(image, 0, 0,
+					(int) Math.round(image.getWidth() * sd.getScaleRatio()),
+					(int) Math.round(image.getHeight() * sd.getScaleRatio()),
+					null);
+		}
+
+		// Draw collection of graphics
+		for (Drawable d : graphics) {
+			if (d instanceof Graphic) {
+				Graphic graphic = (Graphic) d;
+				int size_x = (int) Math.round(graphic.getOriginalSize()
+						.getWidth() * sd.getWidthScale());
+				int size_y = (int) Math.round(graphic.getOriginalSize()
+						.getHeight() * sd.getHeightScale());
+				graphic.setSize(new Dimension(size_x, size_y));
+				int loc_x = (int) ((graphic.getGridPosX() * (128 * sd
+						.getWidthScale())) + (size_x / 2) + (128 * sd
+						.getWidthScale()));
+				int loc_y = (int) ((graphic.getGridPosY() * (128 * sd
+						.getHeightScale())) + (size_y / 2) + (128 * sd
+						.getHeightScale()));
+				graphic.setPosX(loc_x);
+				graphic.setPosY(loc_y);
+			}
+			d.draw(g, sd);
+		}
+
+		// Call individual draw for each block on board.
+		for (int y = 0; y < board.getSizeY(); y++) {
+			for (int x = 0; x < board.getSizeX(); x++) {
+				drawBlock(board.getPiece(x, y), g, sd);
+			}
+		}
+	}
+
+	/**
+	 * Draws the given block, its piece and then its highlights, rescaled to
+	 * the given screen data.
+	 *
+	 * @param block
+	 * @param g
+	 * @param sd
+	 */
+	private void drawBlock(GameBlock block, Graphics2D g, ScreenData sd) {
+		BufferedImage image = null;
+
+		// Get appropriate image
+		ThemeManager tm = ThemeManager.getThemeManager();
+		if (block.getOccupant() == BlockOccupant.PLAYER) {
+			if (block.isKing()) {
+				image = tm.getImage("p1k");
+			} else {
+				image = tm.getImage("p1");
+			}
+		} else if (block.getOccupant() == BlockOccupant.PLAYER2) {
+			if (block.isKing()) {
+				image = tm.getImage("p2k");
+			} else {
+				image = tm.getImage("p2");
+			}
+		}
+
+		// If not null, rescale and reposition, then draw.
+		double scaledWidth, scaledHeight = 0.00;
+		int pos_x, pos_y;
+		if (image != null) {
+			scaledWidth = image.getWidth() * sd.getScaleRatio();
+			scaledHeight = image.getHeight() * sd.getScaleRatio();
+			blockWidth = scaledWidth;
+			blockHeight = scaledHeight;
+			pos_x = (int) Math.round(scaledWidth * block.getGridX());
+			pos_y = (int) Math.round(scaledHeight * block.getGridY());
+
+			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
+					(int) Math.round(scaledHeight), null);
+			// Draws "selected" effect ontop of the block image.
+			image = tm.getImage("block-selected");
+			if (image != null && block.isSelected()) {
+				g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
+						(int) Math.round(scaledHeight), null);
+			}
+		}
+
+		image = tm.getImage("block-available");
+		// Ensures there isn't a null pointer exception
+		if (image == null) {
+			return;
+		}
+		// Rescales images. Duplicate code due to possible event the images
+		// start at different sizes.
+		scaledWidth = image.getWidth() * sd.getScaleRatio();
+		scaledHeight = image.getHeight() * sd.getScaleRatio();
+		blockWidth = scaledWidth;
+		blockHeight = scaledHeight;
+		pos_x = (int) Math.round(scaledWidth * block.getGridX());
+		pos_y = (int) Math.round(scaledHeight * block.getGridY());
+		if (block.isHighlightAsMovable()) {
+			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
+					(int) Math.round(scaledHeight), null);
+		}
+
+		image = tm.getImage("block-target");
+		if (image != null && block.isHighlightAsTarget()) {
+			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
+					(int) Math.round(scaledHeight), null);
+		}
+
+		image = tm.getImage("block-hover");
+		if (image != null && block.isHover()) {
+			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
+					(int) Math.round(scaledHeight), null);
+		}
+
+		image = tm.getImage("block-disabled");
+		if (image != null && block.isDisabled()) {
+			g.drawImage(image, pos_x, pos_y, (int) Math.round(scaledWidth),
+					(int) Math.round(scaledHeight), null);
+		}
+	}
+
+	@Override
+	public void mouseClickPosition(int x, int y) {
+		// Clicks on the board are handled by GUIMouseEventListener.
+	}
+}
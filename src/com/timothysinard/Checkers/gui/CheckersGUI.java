@@ -59,13 +59,16 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 
 	// Main canvas for the board panel
 	private final GraphicCanvas boardCanvas;
+	// Drawable of the board of the current game
+	private final BoardRenderer boardRenderer;
 	// Canvas for the score board panel
 	private final ScoreBoard scoreBoard;
 
 	// Top menu bar
 	private JMenuBar menuBar;
-	// Undo button reference
+	// Undo and Redo button references
 	private JMenuItem undoAction;
+	private JMenuItem redoAction;
 	// Move-Guide and Force-Jump toggle references
 	private JCheckBox guideButton;
 	private JCheckBox forceJumpButton;
@@ -79,6 +82,8 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 
 	// Reference to current active game
 	private CheckersGame currentGame;
+	// Runs the AI's search off the event dispatch thread
+	private final SwingScheduler scheduler;
 
 	public CheckersGUI() throws FileIOException {
 		// Build basic frame
@@ -86,11 +91,13 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 		this.setResizable(false);
 		// Create settings manager
 		this.settingsManager = new CheckersSettingsManager();
+		this.scheduler = new SwingScheduler();
 
 		// Create main panel to be drawn on
 		this.boardPanel = new DrawPanel();
 		this.boardCanvas = new GraphicCanvas("boardCanvas");
 		this.boardPanel.setDrawable(boardCanvas);
+		this.boardRenderer = new BoardRenderer();
 		// Create scoreboard/banner to be drawn on
 		this.scoreBoardPanel = new DrawPanel();
 		this.scoreBoard = new ScoreBoard("mainScoreBoard");
@@ -223,17 +230,14 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 
 		if (parse[0].equals("TwoPlayers")) {
 			newGame(GameOpponent.PLAYER, settingsManager.getGameType());
+		} else if (parse[0].equals("aiEasy")) {
+			// AI modes, the AI plays player 2.
+			newGame(GameOpponent.AI_EASY, settingsManager.getGameType());
+		} else if (parse[0].equals("aiMedium")) {
+			newGame(GameOpponent.AI_MEDIUM, settingsManager.getGameType());
+		} else if (parse[0].equals("aiHard")) {
+			newGame(GameOpponent.AI_HARD, settingsManager.getGameType());
 		}
-
-		// Dead code: For future implementation of AI modes.
-		/*
-		 * else if (parse[0].equals("aiEasy")) { newGame(GameOpponent.AI_EASY,
-		 * settingsManager.getGameType()); } else if
-		 * (parse[0].equals("aiMedium")) { newGame(GameOpponent.AI_MEDIUM,
-		 * settingsManager.getGameType()); } else if (parse[0].equals("aiHard"))
-		 * { newGame(GameOpponent.AI_HARD, settingsManager.getGameType()); }
-		 * else
-		 */
 		// Parse command, selected theme is after the colon ":" split.
 		if (parse[0].equals("THEMES")) {
 			try {
@@ -243,6 +247,8 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 			}
 		} else if (parse[0].equals("Undo")) {
 			undoMove();
+		} else if (parse[0].equals("Redo")) {
+			redoMove();
 		} else if (parse[0].equals("Exit")) {
 			System.exit(0);
 		}
@@ -268,6 +274,15 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 		return boardCanvas;
 	}
 
+	/**
+	 * Get and return reference to the drawable of the current game's board.
+	 * 
+	 * @return
+	 */
+	public BoardRenderer getBoardRenderer() {
+		return boardRenderer;
+	}
+
 	/**
 	 * Get and return reference to canvas drawing the score board banner.
 	 * 
@@ -367,7 +382,19 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 	public void undoMove() {
 		if (currentGame != null) {
 			currentGame.undo();
-			boardCanvas.addDrawable("board", getCurrentGame().getGameBoard());
+			boardRenderer.setBoard(getCurrentGame().getGameBoard());
+			boardCanvas.addDrawable("board", boardRenderer);
+		}
+		this.repaint();
+	}
+
+	/**
+	 * Calls the current game's redo function. Does nothing if game isn't
+	 * active.
+	 */
+	public void redoMove() {
+		if (currentGame != null) {
+			currentGame.redo();
 		}
 		this.repaint();
 	}
@@ -391,18 +418,8 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 	private JMenu buildGameMenu() {
 		JMenu gameMenu = new JMenu("Game");
 		gameMenu.setMnemonic(KeyEvent.VK_G);
-		// gameMenu.add(buildGameTypeSubMenu());
-		// Start: Temporary code for menu construction until AI implementation
-
-		// New Game option
-		JMenuItem newGameAction = new JMenuItem("New Game");
-		// Allow ctrl+N activation
-		newGameAction.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N,
-				ActionEvent.CTRL_MASK));
-		newGameAction.addActionListener(this);
-		newGameAction.setActionCommand("TwoPlayers");
-		newGameAction.setEnabled(true);
-		gameMenu.add(newGameAction);
+		// New Game options
+		gameMenu.add(buildGameTypeSubMenu());
 
 		// Game Mode menu
 		gameMenu.add(buildModeMenu());
@@ -417,6 +434,16 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 		undoAction.setEnabled(false);
 		undoAction.setForeground(Color.GRAY);
 		gameMenu.add(undoAction);
+		// Redo option
+		redoAction = new JMenuItem("Redo");
+		// Allow ctrl+Y activation
+		redoAction.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y,
+				ActionEvent.CTRL_MASK));
+		redoAction.addActionListener(this);
+		redoAction.setActionCommand("Redo");
+		redoAction.setEnabled(false);
+		redoAction.setForeground(Color.GRAY);
+		gameMenu.add(redoAction);
 
 		// Exit option
 		JMenuItem exitAction = new JMenuItem("Exit");
@@ -431,31 +458,42 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 		return gameMenu;
 	}
 
-	/*
-	 * Dead Code Future AI implementation
-	 * 
-	 * 
-	 * private JMenu buildGameTypeSubMenu() { JMenu newAction = new
-	 * JMenu("New"); newAction.setMnemonic(KeyEvent.VK_N); JMenu onePlayer = new
-	 * JMenu("One Player"); JMenuItem twoPlayer = new JMenuItem("Two Players");
-	 * twoPlayer.addActionListener(this);
-	 * twoPlayer.setActionCommand("TwoPlayers");
-	 * 
-	 * JMenuItem aiEasy = new JMenuItem("Easy"); aiEasy.addActionListener(this);
-	 * aiEasy.setActionCommand("aiEasy"); onePlayer.add(aiEasy);
-	 * 
-	 * JMenuItem aiMedium = new JMenuItem("Moderate");
-	 * aiMedium.addActionListener(this); aiMedium.setActionCommand("aiMedium");
-	 * onePlayer.add(aiMedium);
-	 * 
-	 * JMenuItem aiHard = new JMenuItem("Hard"); aiHard.addActionListener(this);
-	 * aiHard.setActionCommand("aiHard"); onePlayer.add(aiHard);
-	 * 
-	 * newAction.add(onePlayer); newAction.add(twoPlayer); return newAction;
-	 * 
+	/**
+	 * Builds and returns the New Game menu, with One Player options for each AI
+	 * difficulty and the Two Players option.
 	 * 
-	 * }
+	 * @return
 	 */
+	private JMenu buildGameTypeSubMenu() {
+		JMenu newAction = new JMenu("New");
+		newAction.setMnemonic(KeyEvent.VK_N);
+		JMenu onePlayer = new JMenu("One Player");
+		JMenuItem twoPlayer = new JMenuItem("Two Players");
+		// Allow ctrl+N activation
+		twoPlayer.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N,
+				ActionEvent.CTRL_MASK));
+		twoPlayer.addActionListener(this);
+		twoPlayer.setActionCommand("TwoPlayers");
+
+		JMenuItem aiEasy = new JMenuItem("Easy");
+		aiEasy.addActionListener(this);
+		aiEasy.setActionCommand("aiEasy");
+		onePlayer.add(aiEasy);
+
+		JMenuItem aiMedium = new JMenuItem("Moderate");
+		aiMedium.addActionListener(this);
+		aiMedium.setActionCommand("aiMedium");
+		onePlayer.add(aiMedium);
+
+		JMenuItem aiHard = new JMenuItem("Hard");
+		aiHard.addActionListener(this);
+		aiHard.setActionCommand("aiHard");
+		onePlayer.add(aiHard);
+
+		newAction.add(onePlayer);
+		newAction.add(twoPlayer);
+		return newAction;
+	}
 
 	/**
 	 * Convenience method to build and return Options menu.
@@ -567,8 +605,14 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 		// Prepare for new game, remove game-over image regardless if a previous
 		// game existed.
 		boardCanvas.removeDrawable("gameover");
+		// A search of the previous game's AI must not move on its board.
+		if (currentGame != null) {
+			currentGame.cancelEngine();
+		}
 		currentGame = new CheckersGame(opponent, type, settingsManager);
-		boardCanvas.addDrawable("board", getCurrentGame().getGameBoard());
+		currentGame.setScheduler(scheduler);
+		boardRenderer.setBoard(getCurrentGame().getGameBoard());
+		boardCanvas.addDrawable("board", boardRenderer);
 		currentGame.addStateListener(this.scoreBoard);
 		currentGame.addStateListener(this);
 		currentGame.updateAvailableMoves();
@@ -605,7 +649,16 @@ public class CheckersGUI extends Frame implements ActionListener, ItemListener,
 			undoAction.setEnabled(true);
 			undoAction.setForeground(Color.DARK_GRAY);
 		}
-
+		// If no undone moves can be redone, disable the Redo option
+		if (currentGame.getGameHistory().canRedo()) {
+			redoAction.setEnabled(true);
+			redoAction.setForeground(Color.DARK_GRAY);
+		} else {
+			redoAction.setEnabled(false);
+			redoAction.setForeground(Color.GRAY);
+		}
+		// The AI's moves arrive from its search, outside of any input event.
+		repaint();
 	}
 
 	@Override
@@ -60,23 +60,11 @@ public class GUIMouseEventListener implements MouseListener,
 		if (gui.getCurrentGame() == null) {
 			return;
 		}
-		GameBlock[][] blocks = gui.getCurrentGame().getGameBoard().getBoard();
-		GameBlock block = null;
-		for (int y = 0; y < gui.getCurrentGame().getGameBoard().getSizeY(); y++) {
-			for (int x = 0; x < gui.getCurrentGame().getGameBoard().getSizeX(); x++) {
-				block = blocks[x][y];
-				int xPos = block.getBoardPosX();
-				int yPos = block.getBoardPosY();
-				if ((e.getX() > xPos)
-						&& (e.getX() < xPos + block.getNewSize().width)
-						&& (e.getY() > yPos)
-						&& (e.getY() < yPos + block.getNewSize().height)
-						&& ((gui.getCurrentGame().getPlayerTurn() == block
-								.getOccupant().getValue()) || block
-								.getOccupant() == BlockOccupant.EMPTY)) {
-					gui.getCurrentGame().setActive(block);
-				}
-			}
+		GameBlock block = gui.getBoardRenderer().getBlockAt(e.getX(), e.getY());
+		if (block != null
+				&& (gui.getCurrentGame().getPlayerTurn() == block.getOccupant()
+						.getValue() || block.getOccupant() == BlockOccupant.EMPTY)) {
+			gui.getCurrentGame().setActive(block);
 		}
 		gui.repaint();
 	}
@@ -113,24 +101,16 @@ public class GUIMouseEventListener implements MouseListener,
 	private void updateMousePosition(MouseEvent e) {
 		if (gui.getCurrentGame() != null) {
 
+			GameBlock hover = gui.getBoardRenderer().getBlockAt(e.getX(),
+					e.getY());
 			GameBlock[][] blocks = gui.getCurrentGame().getGameBoard()
 					.getBoard();
-			GameBlock block = null;
 			for (int y = 0; y < gui.getCurrentGame().getGameBoard().getSizeY(); y++) {
 				for (int x = 0; x < gui.getCurrentGame().getGameBoard()
 						.getSizeX(); x++) {
-					block = blocks[x][y];
-					int xPos = block.getBoardPosX();
-					int yPos = block.getBoardPosY();
-					if ((e.getX() > xPos)
-							&& (e.getX() < xPos + block.getNewSize().width)
-							&& (e.getY() > yPos)
-							&& (e.getY() < yPos + block.getNewSize().height)
-							&& (block.getOccupant() != BlockOccupant.NULL)) {
-						block.setHover(true);
-					} else {
-						block.setHover(false);
-					}
+					GameBlock block = blocks[x][y];
+					block.setHover(block == hover
+							&& block.getOccupant() != BlockOccupant.NULL);
 				}
 			}
 		}
@@ -0,0 +1,46 @@
+package com.timothysinard.Checkers.gui;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import com.timothysinard.Checkers.core.GameScheduler;
+
+/**
+ * Scheduler of a game played in the GUI, on the event dispatch thread.
+ * Background tasks run on a SwingWorker thread, so the GUI keeps painting
+ * and handling input, and tasks for the game are run on the event dispatch
+ * thread, delayed by a Swing timer.
+ */
+public class SwingScheduler implements GameScheduler {
+
+	@Override
+	public void runInBackground(final Runnable task) {
+		new SwingWorker<Void, Void>() {
+			@Override
+			protected Void doInBackground() {
+				task.run();
+				return null;
+			}
+		}.execute();
+	}
+
+	@Override
+	public void runOnGameThread(final Runnable task, int delay) {
+		if (delay <= 0) {
+			SwingUtilities.invokeLater(task);
+			return;
+		}
+		Timer timer = new Timer(delay, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				task.run();
+			}
+		});
+		timer.setRepeats(false);
+		timer.start();
+	}
+}